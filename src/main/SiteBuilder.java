@@ -0,0 +1,2097 @@
+/*
+ * File:    SiteBuilder.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import commons.access.Filesystem;
+import commons.string.StringUtility;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.json.simple.JSONValue;
+import utility.BuildEvents;
+import utility.BuildMetrics;
+import utility.CloudinaryUtility;
+import utility.ManifestUtility;
+import utility.MediaUploader;
+import utility.OutputUtility;
+import utility.PageWeightAnalyzer;
+import utility.PageWriter;
+import utility.PreviewServer;
+import utility.ResourceUtility;
+import utility.SearchIndex;
+import utility.ShardUtility;
+import utility.SortedTraversal;
+import utility.SourceWatcher;
+import utility.Specimen;
+import utility.SpecimenCatalog;
+import utility.SpecimenIds;
+import utility.SpecimenValidator;
+
+public class SiteBuilder {
+    
+    //Constants
+    
+    private static final int specimenIndexChunkSize = 500;
+    
+    
+    //Fields
+    
+    private final SiteConfig config;
+    
+    private final File source;
+    
+    private final File specimensSource;
+    
+    private final File referencesSource;
+    
+    private final File vialRacksSource;
+    
+    private final File sink;
+    
+    private final List<String> categories;
+    
+    private final boolean openLinksInternally;
+    
+    private final boolean incremental;
+    
+    private final boolean draftMode;
+    
+    private final OutputUtility output = new OutputUtility();
+    
+    private final ResourceUtility resources;
+    
+    private final SpecimenCatalog catalog;
+    
+    private final ManifestUtility manifest;
+    
+    private final BuildMetrics metrics;
+    
+    
+    private final Map<String, String> specimens = new LinkedHashMap<>();
+    
+    private final List<String> favorites = new ArrayList<>();
+    
+    private TaxonomyMap taxonomyMap = new TaxonomyMap("SPECIMENS");
+    
+    private final Map<String, String> taxonomyDescriptionMap = new LinkedHashMap<>();
+    
+    private final List<List<String>> taxonomyDescriptionEntries = new ArrayList<>();
+    
+    private final Map<String, SearchIndex.Document> searchDocuments = new LinkedHashMap<>();
+    
+    private Set<String> dirtySpecimens = null;
+    
+    private final LongAdder specimenCount = new LongAdder();
+    
+    private final LongAdder photoCount = new LongAdder();
+    
+    private final LongAdder uniqueSpecimenCount = new LongAdder();
+    
+    private final LongAdder favoriteSpecimenCount = new LongAdder();
+    
+    private final LongAdder speciesLevelIdCount = new LongAdder();
+    
+    private final LongAdder nonSpeciesLevelIdCount = new LongAdder();
+    
+    private final LongAdder finalizedSpecimenCount = new LongAdder();
+    
+    private final LongAdder unfinalizedSpecimenCount = new LongAdder();
+    
+    
+    //Constructors
+    
+    public SiteBuilder(SiteConfig config) {
+        this.config = config;
+        this.source = config.getSource();
+        this.specimensSource = config.getSpecimensSource();
+        this.referencesSource = config.getReferencesSource();
+        this.vialRacksSource = config.getVialRacksSource();
+        this.sink = config.isDraftMode() ? config.getDraftSink() : config.getSink();
+        this.categories = config.getCategories();
+        this.openLinksInternally = config.isOpenLinksInternally();
+        this.incremental = config.isIncremental();
+        this.draftMode = config.isDraftMode();
+        
+        resources = new ResourceUtility(config.getResources(), output);
+        catalog = new SpecimenCatalog(config.getResources());
+        manifest = new ManifestUtility(config.getResources(), resources);
+        metrics = new BuildMetrics(output);
+    }
+    
+    
+    //Methods
+    
+    public void run() throws Exception {
+        if (config.isShardWorker()) {
+            buildShard();
+            return;
+        }
+        
+        build();
+        
+        if (config.isPreviewMode()) {
+            PreviewServer previewServer = new PreviewServer(config.getPreviewPort(), output.getMemoryOutputs());
+            output.setOutputListener(previewServer::pageChanged);
+        }
+        if (config.isWatchMode()) {
+            watch();
+        }
+    }
+    
+    public void build() throws Exception {
+        resources.loadResources();
+        catalog.loadCatalog();
+        output.setWriteIfChanged(config.isWriteIfChanged());
+        output.setMinify(config.isMinifyOutput());
+        if (config.isDeterministicBuild()) {
+            output.setLineSeparator("\n");
+        }
+        if (config.isPreviewMode()) {
+            output.setMemoryOutput(sink);
+        } else if (config.isArchiveBuild()) {
+            output.setArchiveOutput(sink, config.getArchive());
+        }
+        if (incremental) {
+            manifest.loadManifest();
+        }
+        
+        metrics.measure("cleanup", this::cleanup);
+        makeWebsite();
+        if (config.isPrecompressOutput() && output.isDiskOutput()) {
+            metrics.measure("precompress", () -> output.precompress(sink, SiteConfig.outputs));
+        }
+        if (config.isWriteIfChanged() && output.isDiskOutput() && !draftMode) {
+            output.sweep(sink, SiteConfig.outputs);
+        }
+        output.closeArchiveOutput();
+        printStats();
+        if (config.isBuildMetrics()) {
+            metrics.writeReport(config.getMetricsReport(), config.getMetricsTopCount());
+        }
+        
+        resources.saveResources();
+        catalog.pruneSpecimens(specimensSource);
+        catalog.saveCatalog();
+        if (incremental) {
+            manifest.saveManifest();
+        }
+        
+        if (config.isPageBudgets() && output.isDiskOutput()) {
+            checkPageBudgets();
+        }
+    }
+    
+    public void buildShard() throws Exception {
+        resources.loadResources();
+        resources.setAutoSave(false);
+        catalog.loadCatalog();
+        output.setWriteIfChanged(config.isWriteIfChanged());
+        output.setMinify(config.isMinifyOutput());
+        if (config.isDeterministicBuild()) {
+            output.setLineSeparator("\n");
+        }
+        
+        Map<String, String> loadedReferences = new HashMap<>(resources.getImageReferences());
+        makeSpecimenPages();
+        writeShardPartial(loadedReferences);
+    }
+    
+    private void cleanup() throws Exception {
+        if (draftMode) {
+            if (output.isDiskOutput()) {
+                for (String outputName : SiteConfig.outputs) {
+                    output.deleteOutput(new File(sink, outputName));
+                }
+            }
+            return;
+        }
+        if (!output.isDiskOutput()) {
+            cleanupPhotos();
+            return;
+        }
+        
+        if (incremental) {
+            cleanupSpecimens();
+        } else if (!config.isWriteIfChanged()) {
+            for (String outputName : SiteConfig.outputs) {
+                output.deleteOutput(new File(sink, outputName));
+            }
+        }
+        cleanupPhotos();
+    }
+    
+    private void cleanupSpecimens() {
+        Set<String> ids = new HashSet<>();
+        Set<String> shards = new HashSet<>();
+        Set<String> paths = new HashSet<>();
+        for (File specimenDir : catalog.getSpecimenDirs(specimensSource)) {
+            String id = SpecimenIds.getId(specimenDir);
+            ids.add(id);
+            shards.add(SpecimenIds.getShard(id));
+            paths.add(SpecimenIds.getPath(id));
+        }
+        
+        for (File shardSinkDir : Filesystem.getDirs(new File(sink, "specimens"))) {
+            if (!shards.contains(shardSinkDir.getName())) {
+                if (!ids.contains(shardSinkDir.getName())) {
+                    output.deleteOutput(shardSinkDir);
+                }
+                continue;
+            }
+            for (File specimenSinkDir : Filesystem.getDirs(shardSinkDir)) {
+                if (!paths.contains(shardSinkDir.getName() + '/' + specimenSinkDir.getName())) {
+                    output.deleteOutput(specimenSinkDir);
+                }
+            }
+        }
+    }
+    
+    private void cleanupPhotos() {
+        Map<String, String> imageReferences = resources.getImageReferences();
+        List<String> deleteImages = new ArrayList<>();
+        synchronized (imageReferences) {
+            for (Map.Entry<String, String> imageReference : imageReferences.entrySet()) {
+                String image = imageReference.getKey();
+                File imageFile = new File(specimensSource, image);
+                
+                if (!imageFile.exists()) {
+                    deleteImages.add(image);
+                }
+            }
+        }
+        
+        for (String deleteImage : deleteImages) {
+            String reference = imageReferences.get(deleteImage);
+            String publicId = reference.substring(reference.lastIndexOf('/') + 1, reference.lastIndexOf('.'));
+            
+            try {
+                CloudinaryUtility.delete(publicId);
+            } catch (Exception e) {
+                continue;
+            }
+            
+            imageReferences.remove(deleteImage);
+            try {
+                resources.saveResources();
+            } catch (Exception e) {
+                System.err.println("Failed to remove image reference: " + deleteImage + "," + deleteImage);
+            }
+        }
+    }
+    
+    private void makeWebsite() throws Exception {
+        metrics.measure("makeIndex", this::makeIndex);
+        metrics.measure("makeMainPage", this::makeMainPage);
+        metrics.measure("makeSearchPage", this::makeSearchPage);
+        metrics.measure("makeStyle", this::makeStyle);
+        metrics.measure("makeScripts", this::makeScripts);
+        metrics.measure("makeAssets", this::makeAssets);
+        if (config.isShardedBuild()) {
+            metrics.measure("makeSpecimenPages", this::makeShardedSpecimenPages);
+        } else {
+            metrics.measure("makeSpecimenPages", this::makeSpecimenPages);
+        }
+        metrics.measure("makeLegacyRedirects", this::makeLegacyRedirects);
+        if (!draftMode) {
+            metrics.measure("makeReferences", this::makeReferences);
+            metrics.measure("makeVialRacks", this::makeVialRacks);
+        } else {
+            makeDraftStub("references", "References");
+            makeDraftStub("vialRacks", "Vial Racks");
+        }
+        metrics.measure("makeSearchIndex", this::makeSearchIndex);
+        
+        if (!incremental || !manifest.isGlobalUnchanged() || !output.exists(new File(sink, "navbar.html"))) {
+            metrics.measure("makeSpecimenIndex", this::makeSpecimenIndex);
+            metrics.measure("makeTreeView", this::makeTreeView);
+            metrics.measure("makeNavbar", this::makeNavbar);
+        } else {
+            output.retain(new File(sink, "data/specimens"));
+            output.retain(new File(sink, "data/specimenIndex.json"));
+            output.retain(new File(sink, "treeview"));
+            output.retain(new File(sink, "navbar.html"));
+        }
+    }
+    
+    private void watch() throws Exception {
+        try (SourceWatcher watcher = new SourceWatcher(config.getWatchDebounceMillis(), specimensSource, referencesSource, vialRacksSource)) {
+            System.out.println("Watching for changes in: " + source.getAbsolutePath());
+            while (true) {
+                Set<File> changes = watcher.awaitChanges();
+                long start = System.currentTimeMillis();
+                try {
+                    rebuild(changes);
+                    System.out.println("Regenerated " + changes.size() + " changes in: " + (System.currentTimeMillis() - start) + "ms");
+                } catch (Exception e) {
+                    System.err.println("Regeneration failed: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+    
+    private void rebuild(Set<File> changes) throws Exception {
+        List<String> previousSpecimens = new ArrayList<>(specimens.values());
+        List<String> currentSpecimens = new ArrayList<>();
+        catalog.getSpecimenDirs(specimensSource).forEach(e -> currentSpecimens.add(e.getName()));
+        
+        boolean fullRebuild = changes.contains(specimensSource) || !previousSpecimens.equals(currentSpecimens);
+        boolean mainPageChanged = changes.contains(new File(specimensSource, "Specimens.jpg"));
+        boolean referencesChanged = false;
+        boolean vialRacksChanged = false;
+        Set<String> changedSpecimens = new HashSet<>();
+        for (File change : changes) {
+            Path changePath = change.toPath();
+            if (changePath.startsWith(referencesSource.toPath())) {
+                referencesChanged = true;
+            } else if (changePath.startsWith(vialRacksSource.toPath())) {
+                vialRacksChanged = true;
+            } else if (changePath.startsWith(specimensSource.toPath()) && !changePath.equals(specimensSource.toPath())) {
+                changedSpecimens.add(specimensSource.toPath().relativize(changePath).getName(0).toString());
+            }
+        }
+        
+        resetState();
+        manifest.loadManifest();
+        dirtySpecimens = fullRebuild ? null : changedSpecimens;
+        try {
+            if (fullRebuild && output.isDiskOutput()) {
+                cleanupSpecimens();
+            }
+            if (mainPageChanged) {
+                makeMainPage();
+            }
+            makeSpecimenPages();
+            makeLegacyRedirects();
+            if (referencesChanged && !draftMode) {
+                makeReferences();
+            }
+            if (vialRacksChanged && !draftMode) {
+                makeVialRacks();
+            }
+            makeSearchIndex();
+            if (draftMode || !manifest.isGlobalUnchanged()) {
+                makeSpecimenIndex();
+                makeTreeView();
+                makeNavbar();
+            }
+        } finally {
+            dirtySpecimens = null;
+        }
+        if (config.isPrecompressOutput() && output.isDiskOutput()) {
+            output.precompress(sink, SiteConfig.outputs);
+        }
+        
+        resources.saveResources();
+        catalog.pruneSpecimens(specimensSource);
+        catalog.saveCatalog();
+        manifest.saveManifest();
+    }
+    
+    private void resetState() {
+        specimens.clear();
+        favorites.clear();
+        taxonomyMap = new TaxonomyMap("SPECIMENS");
+        taxonomyDescriptionMap.clear();
+        taxonomyDescriptionEntries.clear();
+        searchDocuments.clear();
+        
+        specimenCount.reset();
+        photoCount.reset();
+        uniqueSpecimenCount.reset();
+        favoriteSpecimenCount.reset();
+        speciesLevelIdCount.reset();
+        nonSpeciesLevelIdCount.reset();
+        finalizedSpecimenCount.reset();
+        unfinalizedSpecimenCount.reset();
+    }
+    
+    private void checkPageBudgets() throws Exception {
+        PageWeightAnalyzer analyzer = new PageWeightAnalyzer(sink, specimensSource, resources.getImageReferences(), config.getPageBudget());
+        List<PageWeightAnalyzer.PageWeight> weights = analyzer.analyze();
+        PageWeightAnalyzer.writeReport(config.getPageWeightReport(), weights);
+        
+        List<PageWeightAnalyzer.PageWeight> violations = PageWeightAnalyzer.getViolations(weights);
+        for (PageWeightAnalyzer.PageWeight violation : violations) {
+            System.err.println("Page weight budget exceeded: " + violation.getPath() + " " + violation.getViolations());
+        }
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException(violations.size() + " of " + weights.size() + " pages exceed their page weight budget");
+        }
+    }
+    
+    private void printStats() throws Exception {
+        System.out.println();
+        System.out.println("--------------------------------------------------");
+        System.out.println("Number of Specimens:             " + specimenCount);
+        System.out.println("Number of Photos:                " + photoCount);
+        System.out.println("Number of Unique Specimens:      " + uniqueSpecimenCount);
+        System.out.println("Number of Favorite Specimens:    " + favoriteSpecimenCount);
+        System.out.println("Number of Species Level IDs:     " + speciesLevelIdCount);
+        System.out.println("Number of Non-Species Level IDs: " + nonSpeciesLevelIdCount);
+        System.out.println("Number of Finalized Specimens:   " + finalizedSpecimenCount);
+        System.out.println("Number of Unfinalized Specimens: " + unfinalizedSpecimenCount);
+        System.out.println("--------------------------------------------------");
+    }
+    
+    
+    //Website Methods
+    
+    private void makeIndex() throws Exception {
+        File landingPage = new File(sink, "index.html");
+        PageWriter.writeIndexPage(output, landingPage, 0);
+    }
+    
+    private void makeMainPage() throws Exception {
+        File mainPage = new File(sink, "main.html");
+        try (PageWriter page = new PageWriter(output, mainPage, false, false, 0)) {
+            page.writeLine("<h1>Specimens</h1>");
+            page.writeLine("<hr>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            
+            File coverImage = new File(specimensSource, "Specimens.jpg");
+            if (coverImage.exists()) {
+                String coverLink = draftMode ? resources.getImageLink(coverImage, sink, -1) : resources.linkImage(coverImage, sink, -1);
+                if (coverLink == null) {
+                    coverLink = coverImage.toPath().toUri().toString();
+                }
+                page.writeLine("<center>");
+                page.writeLine("\t<img src=\"" + coverLink + "\" width=\"70%\" height=\"70%\" style=\"max-height: 80vh; object-fit: contain;\"/>");
+                page.writeLine("</center>");
+                page.writeLine("<br>");
+                page.writeLine("");
+                photoCount.increment();
+            }
+            
+            page.finish();
+        }
+    }
+    
+    private void makeSearchPage() throws Exception {
+        File searchPage = new File(sink, "search.html");
+        try (PageWriter page = new PageWriter(output, searchPage, false, false, 0, "scripts/specimenIndex.js", "scripts/search.js")) {
+            page.writeLine("<h1>Search</h1>");
+            page.writeLine("<hr>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            
+            page.writeLine("<div style=\"padding-left: 10%\">");
+            page.writeLine("\t<input id=\"searchInput\" type=\"search\" placeholder=\"Name, taxon, location, or photo category\" autocomplete=\"off\" style=\"width: 60%;\">");
+            page.writeLine("\t<p id=\"searchStatus\"></p>");
+            page.writeLine("\t<ul id=\"searchResults\"></ul>");
+            page.writeLine("</div>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            page.finish();
+        }
+    }
+    
+    private void makeStyle() throws Exception {
+        File style = new File(sink, "css/style.css");
+        List<String> content = new ArrayList<>();
+        content.add(".navbarFrame {float:left; width:20%; height:98%; position: fixed;}");
+        content.add(".mainFrame {float:left; width:79%; height:98%; margin-left: 20%; position: fixed;}");
+        content.add("");
+        content.add(".navbar {height: 100%; width: 100%; position: fixed; z-index: 1; top: 0; left: 0; background-color: #111; overflow-x: hidden; padding-top: 20px;}");
+        content.add(".navbar a {padding: 6px 8px 6px 16px; text-decoration: none; font-size: 14px; color: #818181; display: block;}");
+        content.add("");
+        content.add("body {color: #f1f1f1; background-color: #111; font: normal normal normal 16px oloron, monospace;}");
+        content.add("h1 {font: normal bold normal 48px monospace; text-align: center; text-decoration: underline, overline; text-transform: uppercase;}");
+        content.add("");
+        content.add(".td-left {text-align: right; padding-right: 8px; width: 50%;}");
+        content.add(".td-right {text-align: left; padding-left: 8px; width: 50%;}");
+        content.add("");
+        content.add(".img_div {z-index:9999; display:none; background-color:#000; position:fixed; height:100%; width:100%; left: 0px; top: 0px; text-align: center; overflow: hidden;}");
+        content.add(".img_div_img {width: 100%; height: 100%; object-fit: contain;}");
+        content.add(".img_div_close {position: absolute; right: 0px; top: 0px; background: #000; color: #fff; cursor: pointer; width: 32px; height: 32px; text-align: center; line-height: 32px;}");
+        content.add("");
+        content.add("ul, #myUL {list-style-type: none;}");
+        content.add("#myUL {margin: 0; padding: 0; padding-left: 20px;}");
+        content.add(".caret {cursor: pointer; user-select: none;}");
+        content.add(".caret::before {content: \"\\25B6\"; color: white; display: inline-block; margin-right: 6px;}");
+        content.add(".caret-down::before {transform: rotate(90deg);}");
+        content.add(".nested {display: none;}");
+        content.add(".active {display: block;}");
+        content.add("");
+        content.add("a:link {color: #818181; text-decoration: underline;}");
+        content.add("a:visited {color: #818181; text-decoration: underline;}");
+        content.add("a:hover {color: #f1f1f1;}");
+        content.add("");
+        content.add(".virtualRow {height: 30px; overflow: hidden; white-space: nowrap;}");
+        output.writeLines(style, content);
+    }
+    
+    private void makeScripts() throws Exception {
+        makeNavbarToggler();
+        makeTreeViewLoader();
+        makeLightbox();
+        makeSpecimenIndexLoader();
+        makeNavbarList();
+        makeRandomSpecimenSelector();
+        makeSearch();
+    }
+    
+    private void makeNavbarToggler() throws Exception {
+        File scriptsDir = new File(sink, "scripts");
+        
+        List<String> content = new ArrayList<>();
+        content.add("$(document).ready(function() {");
+        content.add("\tvar toggler = document.getElementsByClassName(\"caret\");");
+        content.add("");
+        
+        content.add("\tvar i;");
+        content.add("\tfor (i = 0; i < toggler.length; i++) {");
+        content.add("");
+        
+        content.add("\t\ttoggler[i].setAttribute('id', i);");
+        content.add("\t\tif (sessionStorage.getItem('navbarCollapsed' + i) === \"true\") {");
+        content.add("\t\t\ttoggler[i].parentElement.querySelector(\".nested\").classList.toggle(\"active\");");
+        content.add("\t\t\ttoggler[i].classList.toggle(\"caret-down\");");
+        content.add("\t\t}");
+        content.add("");
+        
+        content.add("\t\ttoggler[i].addEventListener(\"click\", function() {");
+        content.add("\t\t\tthis.parentElement.querySelector(\".nested\").classList.toggle(\"active\");");
+        content.add("\t\t\tthis.classList.toggle(\"caret-down\");");
+        content.add("");
+        
+        content.add("\t\t\tif (sessionStorage.getItem('navbarCollapsed' + this.getAttribute('id')) == \"true\") {");
+        content.add("\t\t\t\tsessionStorage.setItem('navbarCollapsed' + this.getAttribute('id'), false);");
+        content.add("\t\t\t} else {");
+        content.add("\t\t\t\tsessionStorage.setItem('navbarCollapsed' + this.getAttribute('id'), true);");
+        content.add("\t\t\t}");
+        content.add("\t\t});");
+        content.add("");
+        
+        content.add("\t}");
+        content.add("});");
+        
+        output.writeLines(new File(scriptsDir, "navbarToggler.js"), content);
+    }
+    
+    private void makeTreeViewLoader() throws Exception {
+        File scriptsDir = new File(sink, "scripts");
+        
+        List<String> content = new ArrayList<>();
+        content.add("$(document).ready(function() {");
+        content.add("\tvar fragments = {};");
+        content.add("");
+        
+        content.add("\tfunction getFragment(node) {");
+        content.add("\t\tif (!(node in fragments)) {");
+        content.add("\t\t\tfragments[node] = $.getJSON(\"nodes/\" + node + \".json\").then(function(data) {");
+        content.add("\t\t\t\treturn data;");
+        content.add("\t\t\t});");
+        content.add("\t\t}");
+        content.add("\t\treturn fragments[node];");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction makeRow(entry) {");
+        content.add("\t\tvar row = $(\"<li></li>\");");
+        content.add("\t\tif (entry.length === 2) {");
+        content.add("\t\t\tvar link = $(\"<a target=\\\"mainFrame\\\"></a>\").attr(\"href\", \"../\" + specimenIndex.getUrl(entry[0])).text(entry[1]);");
+        content.add("\t\t\treturn row.append($(\"<span></span>\").append(link));");
+        content.add("\t\t}");
+        content.add("\t\tvar label = entry[0] + \": \" + entry[1] + (entry[2] ? (\" - \" + entry[2]) : \"\") + \" (\" + entry[3] + \")\";");
+        content.add("\t\trow.append($(\"<span class=\\\"caret\\\"></span>\").attr(\"data-node\", entry[4]).text(label));");
+        content.add("\t\treturn row.append(\"<ul class=\\\"nested\\\"></ul>\");");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction expand(caret) {");
+        content.add("\t\tvar node = caret.attr(\"data-node\");");
+        content.add("\t\tvar list = caret.siblings(\".nested\");");
+        content.add("\t\tcaret.addClass(\"caret-down\");");
+        content.add("\t\tlist.addClass(\"active\");");
+        content.add("\t\tsessionStorage.setItem(\"treeViewExpanded\" + node, true);");
+        content.add("");
+        
+        content.add("\t\tif (!list.data(\"loaded\")) {");
+        content.add("\t\t\tlist.data(\"loaded\", true);");
+        content.add("\t\t\tgetFragment(node).then(function(entries) {");
+        content.add("\t\t\t\tentries.forEach(function(entry) {");
+        content.add("\t\t\t\t\tvar row = makeRow(entry).appendTo(list);");
+        content.add("\t\t\t\t\tif ((entry.length > 2) && (sessionStorage.getItem(\"treeViewExpanded\" + entry[4]) === \"true\")) {");
+        content.add("\t\t\t\t\t\texpand(row.children(\".caret\"));");
+        content.add("\t\t\t\t\t}");
+        content.add("\t\t\t\t});");
+        content.add("\t\t\t}, function() {");
+        content.add("\t\t\t\tdelete fragments[node];");
+        content.add("\t\t\t\tlist.data(\"loaded\", false);");
+        content.add("\t\t\t});");
+        content.add("\t\t}");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction collapse(caret) {");
+        content.add("\t\tcaret.removeClass(\"caret-down\");");
+        content.add("\t\tcaret.siblings(\".nested\").removeClass(\"active\");");
+        content.add("\t\tsessionStorage.setItem(\"treeViewExpanded\" + caret.attr(\"data-node\"), false);");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\t$(\"#myUL\").on(\"click\", \".caret\", function() {");
+        content.add("\t\tvar caret = $(this);");
+        content.add("\t\tif (caret.hasClass(\"caret-down\")) {");
+        content.add("\t\t\tcollapse(caret);");
+        content.add("\t\t} else {");
+        content.add("\t\t\texpand(caret);");
+        content.add("\t\t}");
+        content.add("\t});");
+        content.add("");
+        
+        content.add("\tvar root = $(\"#myUL > li > .caret\");");
+        content.add("\tif (sessionStorage.getItem(\"treeViewExpanded\" + root.attr(\"data-node\")) !== \"false\") {");
+        content.add("\t\texpand(root);");
+        content.add("\t}");
+        content.add("});");
+        
+        output.writeLines(new File(scriptsDir, "treeView.js"), content);
+    }
+    
+    private void makeLightbox() throws Exception {
+        File scriptsDir = new File(sink, "scripts");
+        
+        List<String> content = new ArrayList<>();
+        content.add("$(document).ready(function() {");
+        content.add("\tvar scroll = 0;");
+        content.add("\tvar lightbox = null;");
+        content.add("");
+        
+        content.add("\tfunction show(source, type) {");
+        content.add("\t\tscroll = $(window).scrollTop();");
+        content.add("\t\t$('html, body').css({");
+        content.add("\t\t\toverflow: 'hidden',");
+        content.add("\t\t\theight: '100%'");
+        content.add("\t\t});");
+        content.add("");
+        content.add("\t\tlightbox = $('<div class=\"img_div\"><div class=\"img_div_close\">X</div></div>');");
+        content.add("\t\tif (type === 'video') {");
+        content.add("\t\t\tlightbox.prepend($('<video class=\"img_div_img\" controls autoplay></video>').append($('<source type=\"video/mp4\"/>').attr('src', source)));");
+        content.add("\t\t} else {");
+        content.add("\t\t\tlightbox.prepend($('<img class=\"img_div_img\"/>').attr('src', source));");
+        content.add("\t\t}");
+        content.add("\t\tlightbox.click(hide);");
+        content.add("\t\t$('body').append(lightbox);");
+        content.add("\t\tlightbox.show();");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction hide() {");
+        content.add("\t\tif (lightbox === null) {");
+        content.add("\t\t\treturn;");
+        content.add("\t\t}");
+        content.add("\t\tlightbox.remove();");
+        content.add("\t\tlightbox = null;");
+        content.add("");
+        content.add("\t\t$('html, body').css({");
+        content.add("\t\t\toverflow: 'auto',");
+        content.add("\t\t\theight: 'auto'");
+        content.add("\t\t});");
+        content.add("\t\t$(\"html\").scrollTop(scroll);");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\t$(document).on('click', 'a[data-lightbox]', function(e) {");
+        content.add("\t\te.preventDefault();");
+        content.add("\t\tshow($(this).attr('href'), $(this).data('lightbox'));");
+        content.add("\t});");
+        content.add("");
+        
+        content.add("\t$(document).keyup(function(e) {");
+        content.add("\t\tif (e.key === \"Escape\") {");
+        content.add("\t\t\thide();");
+        content.add("\t\t}");
+        content.add("\t});");
+        content.add("});");
+        
+        output.writeLines(new File(scriptsDir, "lightbox.js"), content);
+    }
+    
+    private void makeSpecimenIndexLoader() throws Exception {
+        File scriptsDir = new File(sink, "scripts");
+        
+        List<String> content = new ArrayList<>();
+        content.add("var specimenIndex = (function() {");
+        content.add("\tvar index = null;");
+        content.add("\tvar chunks = {};");
+        content.add("");
+        
+        content.add("\tfunction load() {");
+        content.add("\t\tif (index === null) {");
+        content.add("\t\t\tindex = $.getJSON(\"data/specimenIndex.json\");");
+        content.add("\t\t}");
+        content.add("\t\treturn index;");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction getChunk(chunk) {");
+        content.add("\t\tif (!(chunk in chunks)) {");
+        content.add("\t\t\tchunks[chunk] = $.getJSON(\"data/specimens/\" + chunk + \".json\");");
+        content.add("\t\t}");
+        content.add("\t\treturn chunks[chunk];");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction getEntry(position) {");
+        content.add("\t\treturn load().then(function(data) {");
+        content.add("\t\t\treturn getChunk(Math.floor(position / data.chunkSize)).then(function(entries) {");
+        content.add("\t\t\t\treturn entries[position % data.chunkSize];");
+        content.add("\t\t\t});");
+        content.add("\t\t});");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction getUrl(id) {");
+        content.add("\t\tvar shard = id.slice(0, -2).replace(/^0+/, \"\");");
+        content.add("\t\twhile (shard.length < 2) {");
+        content.add("\t\t\tshard = \"0\" + shard;");
+        content.add("\t\t}");
+        content.add("\t\treturn \"specimens/\" + shard + \"/\" + id + \"/content.html\";");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\treturn {load: load, getEntry: getEntry, getUrl: getUrl};");
+        content.add("})();");
+        
+        output.writeLines(new File(scriptsDir, "specimenIndex.js"), content);
+    }
+    
+    private void makeNavbarList() throws Exception {
+        File scriptsDir = new File(sink, "scripts");
+        
+        List<String> content = new ArrayList<>();
+        content.add("$(document).ready(function() {");
+        content.add("\tvar rowHeight = 30;");
+        content.add("\tvar overscan = 20;");
+        content.add("\tvar navbar = $(\".navbar\");");
+        content.add("\tvar favoriteList = $(\"#favoriteList\");");
+        content.add("\tvar specimenList = $(\"#specimenList\");");
+        content.add("");
+        
+        content.add("\tfunction makeRow(entry) {");
+        content.add("\t\tvar link = $(\"<a target=\\\"mainFrame\\\"></a>\").attr(\"href\", specimenIndex.getUrl(entry[0])).text(entry[1]);");
+        content.add("\t\treturn $(\"<li class=\\\"virtualRow\\\"></li>\").append($(\"<span></span>\").append(link));");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tspecimenIndex.load().then(function(data) {");
+        content.add("\t\tdata.favorites.slice().reverse().forEach(function(entry) {");
+        content.add("\t\t\tfavoriteList.append(makeRow(entry));");
+        content.add("\t\t});");
+        content.add("");
+        
+        content.add("\t\tvar visible = null;");
+        content.add("\t\tspecimenList.css(\"height\", (data.count * rowHeight) + \"px\");");
+        content.add("");
+        
+        content.add("\t\tfunction render() {");
+        content.add("\t\t\tif (!specimenList.is(\":visible\")) {");
+        content.add("\t\t\t\treturn;");
+        content.add("\t\t\t}");
+        content.add("");
+        
+        content.add("\t\t\tvar listTop = specimenList.offset().top - navbar.offset().top;");
+        content.add("\t\t\tvar first = Math.max(0, Math.floor(-listTop / rowHeight) - overscan);");
+        content.add("\t\t\tvar last = Math.min(data.count, Math.ceil((navbar.innerHeight() - listTop) / rowHeight) + overscan);");
+        content.add("\t\t\tif ((visible !== null) && (visible.first === first) && (visible.last === last)) {");
+        content.add("\t\t\t\treturn;");
+        content.add("\t\t\t}");
+        content.add("\t\t\tvar current = {first: first, last: last};");
+        content.add("\t\t\tvisible = current;");
+        content.add("");
+        
+        content.add("\t\t\tvar rows = [];");
+        content.add("\t\t\tvar row;");
+        content.add("\t\t\tfor (row = first; row < last; row++) {");
+        content.add("\t\t\t\trows.push(specimenIndex.getEntry(data.count - 1 - row));");
+        content.add("\t\t\t}");
+        content.add("\t\t\t$.when.apply($, rows).then(function() {");
+        content.add("\t\t\t\tif (visible !== current) {");
+        content.add("\t\t\t\t\treturn;");
+        content.add("\t\t\t\t}");
+        content.add("\t\t\t\tspecimenList.empty();");
+        content.add("\t\t\t\tspecimenList.css(\"padding-top\", (first * rowHeight) + \"px\");");
+        content.add("\t\t\t\tspecimenList.css(\"height\", ((data.count - first) * rowHeight) + \"px\");");
+        content.add("\t\t\t\tvar j;");
+        content.add("\t\t\t\tfor (j = 0; j < arguments.length; j++) {");
+        content.add("\t\t\t\t\tspecimenList.append(makeRow(arguments[j]));");
+        content.add("\t\t\t\t}");
+        content.add("\t\t\t});");
+        content.add("\t\t}");
+        content.add("");
+        
+        content.add("\t\tnavbar.on(\"scroll\", render);");
+        content.add("\t\t$(window).on(\"resize\", render);");
+        content.add("\t\t$(document).on(\"click\", \".caret\", function() {");
+        content.add("\t\t\tsetTimeout(render, 0);");
+        content.add("\t\t});");
+        content.add("\t\trender();");
+        content.add("\t});");
+        content.add("});");
+        
+        output.writeLines(new File(scriptsDir, "navbarList.js"), content);
+    }
+    
+    private void makeRandomSpecimenSelector() throws Exception {
+        File scriptsDir = new File(sink, "scripts");
+        
+        List<String> content = new ArrayList<>();
+        content.add("$(document).ready(function() {");
+        content.add("\tfunction setRandomSpecimenUrl(selector) {");
+        content.add("\t\tspecimenIndex.load().then(function(data) {");
+        content.add("\t\t\tif (data.count > 0) {");
+        content.add("\t\t\t\tspecimenIndex.getEntry(Math.floor(Math.random() * data.count)).then(function(entry) {");
+        content.add("\t\t\t\t\tselector.href = specimenIndex.getUrl(entry[0]);");
+        content.add("\t\t\t\t});");
+        content.add("\t\t\t}");
+        content.add("\t\t});");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tvar selector = document.getElementsByClassName(\"randomSpecimen\");");
+        content.add("");
+        
+        content.add("\tvar i;");
+        content.add("\tfor (i = 0; i < selector.length; i++) {");
+        content.add("");
+        
+        content.add("\t\tsetRandomSpecimenUrl(selector[i]);");
+        content.add("");
+        
+        content.add("\t\tselector[i].addEventListener(\"click\", function() {");
+        content.add("\t\t\tvar current = this;");
+        content.add("\t\t\tsetTimeout(function() {");
+        content.add("\t\t\t\tsetRandomSpecimenUrl(current);");
+        content.add("\t\t\t}, 0);");
+        content.add("\t\t});");
+        content.add("");
+        
+        content.add("\t}");
+        content.add("});");
+        
+        output.writeLines(new File(scriptsDir, "randomSpecimenSelector.js"), content);
+    }
+    
+    private void makeSearch() throws Exception {
+        File scriptsDir = new File(sink, "scripts");
+        
+        List<String> content = new ArrayList<>();
+        content.add("$(document).ready(function() {");
+        content.add("\tvar maxResults = 100;");
+        content.add("\tvar index = null;");
+        content.add("\tvar shards = {};");
+        content.add("\tvar searchCount = 0;");
+        content.add("\tvar input = $(\"#searchInput\");");
+        content.add("\tvar status = $(\"#searchStatus\");");
+        content.add("\tvar results = $(\"#searchResults\");");
+        content.add("");
+        
+        content.add("\tfunction tokenize(text, minTermLength) {");
+        content.add("\t\tvar terms = text.normalize(\"NFD\").replace(/\\p{M}+/gu, \"\").toLowerCase().split(/[^\\p{L}\\p{N}]+/u);");
+        content.add("\t\treturn terms.filter(function(term, i) {");
+        content.add("\t\t\treturn (term.length >= minTermLength) && (terms.indexOf(term) === i);");
+        content.add("\t\t});");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction loadIndex() {");
+        content.add("\t\tif (index === null) {");
+        content.add("\t\t\tindex = $.getJSON(\"data/search/index.json\").then(function(data) {");
+        content.add("\t\t\t\treturn data;");
+        content.add("\t\t\t});");
+        content.add("\t\t}");
+        content.add("\t\treturn index;");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction getShard(prefix) {");
+        content.add("\t\tif (!(prefix in shards)) {");
+        content.add("\t\t\tshards[prefix] = $.getJSON(\"data/search/terms-\" + encodeURIComponent(prefix) + \".json\").then(function(data) {");
+        content.add("\t\t\t\treturn data;");
+        content.add("\t\t\t});");
+        content.add("\t\t}");
+        content.add("\t\treturn shards[prefix];");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction getShardPrefixes(data, term) {");
+        content.add("\t\tvar prefixes = data.shards.filter(function(prefix) {");
+        content.add("\t\t\treturn prefix.indexOf(term) === 0;");
+        content.add("\t\t});");
+        content.add("\t\tif (prefixes.length === 0) {");
+        content.add("\t\t\tdata.shards.forEach(function(prefix) {");
+        content.add("\t\t\t\tif ((term.indexOf(prefix) === 0) && ((prefixes.length === 0) || (prefix.length > prefixes[0].length))) {");
+        content.add("\t\t\t\t\tprefixes = [prefix];");
+        content.add("\t\t\t\t}");
+        content.add("\t\t\t});");
+        content.add("\t\t}");
+        content.add("\t\treturn prefixes;");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction findTerm(data, term) {");
+        content.add("\t\treturn $.when.apply($, getShardPrefixes(data, term).map(getShard).concat([{}])).then(function() {");
+        content.add("\t\t\tvar scores = {};");
+        content.add("\t\t\tfor (var i = 0; i < arguments.length; i++) {");
+        content.add("\t\t\t\tvar shard = arguments[i];");
+        content.add("\t\t\t\tfor (var key in shard) {");
+        content.add("\t\t\t\t\tif (key.indexOf(term) === 0) {");
+        content.add("\t\t\t\t\t\tvar postings = shard[key];");
+        content.add("\t\t\t\t\t\tfor (var j = 0; j < postings.length; j += 2) {");
+        content.add("\t\t\t\t\t\t\tscores[postings[j]] = Math.max(scores[postings[j]] || 0, postings[j + 1]);");
+        content.add("\t\t\t\t\t\t}");
+        content.add("\t\t\t\t\t}");
+        content.add("\t\t\t\t}");
+        content.add("\t\t\t}");
+        content.add("\t\t\treturn scores;");
+        content.add("\t\t});");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction showResults(matches, search) {");
+        content.add("\t\tstatus.text(matches.length + ((matches.length === 1) ? \" result\" : \" results\"));");
+        content.add("\t\tmatches.slice(0, maxResults).forEach(function(match) {");
+        content.add("\t\t\tvar row = $(\"<li></li>\").appendTo(results);");
+        content.add("\t\t\tspecimenIndex.getEntry(match.position).then(function(entry) {");
+        content.add("\t\t\t\tif (search === searchCount) {");
+        content.add("\t\t\t\t\trow.append($(\"<a></a>\").attr(\"href\", specimenIndex.getUrl(entry[0])).text(entry[1]));");
+        content.add("\t\t\t\t}");
+        content.add("\t\t\t});");
+        content.add("\t\t});");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tfunction search() {");
+        content.add("\t\tvar search = ++searchCount;");
+        content.add("\t\tvar query = input.val();");
+        content.add("\t\tresults.empty();");
+        content.add("\t\tloadIndex().then(function(data) {");
+        content.add("\t\t\tvar terms = tokenize(query, data.minTermLength);");
+        content.add("\t\t\tif (terms.length === 0) {");
+        content.add("\t\t\t\tstatus.text(\"\");");
+        content.add("\t\t\t\treturn;");
+        content.add("\t\t\t}");
+        content.add("\t\t\t$.when.apply($, terms.map(function(term) {");
+        content.add("\t\t\t\treturn findTerm(data, term);");
+        content.add("\t\t\t})).then(function() {");
+        content.add("\t\t\t\tif (search !== searchCount) {");
+        content.add("\t\t\t\t\treturn;");
+        content.add("\t\t\t\t}");
+        content.add("\t\t\t\tvar totals = null;");
+        content.add("\t\t\t\tfor (var i = 0; i < arguments.length; i++) {");
+        content.add("\t\t\t\t\tvar scores = arguments[i];");
+        content.add("\t\t\t\t\tvar next = {};");
+        content.add("\t\t\t\t\tfor (var position in scores) {");
+        content.add("\t\t\t\t\t\tif ((totals === null) || (position in totals)) {");
+        content.add("\t\t\t\t\t\t\tnext[position] = ((totals === null) ? 0 : totals[position]) + scores[position];");
+        content.add("\t\t\t\t\t\t}");
+        content.add("\t\t\t\t\t}");
+        content.add("\t\t\t\t\ttotals = next;");
+        content.add("\t\t\t\t}");
+        content.add("\t\t\t\tvar matches = Object.keys(totals).map(function(position) {");
+        content.add("\t\t\t\t\treturn {position: Number(position), score: totals[position]};");
+        content.add("\t\t\t\t}).sort(function(a, b) {");
+        content.add("\t\t\t\t\treturn (b.score - a.score) || (a.position - b.position);");
+        content.add("\t\t\t\t});");
+        content.add("\t\t\t\tshowResults(matches, search);");
+        content.add("\t\t\t});");
+        content.add("\t\t});");
+        content.add("\t}");
+        content.add("");
+        
+        content.add("\tvar timer = null;");
+        content.add("\tinput.on(\"input\", function() {");
+        content.add("\t\tclearTimeout(timer);");
+        content.add("\t\ttimer = setTimeout(search, 200);");
+        content.add("\t});");
+        content.add("\tinput.focus();");
+        content.add("});");
+        
+        output.writeLines(new File(scriptsDir, "search.js"), content);
+    }
+    
+    private void makeSpecimenIndex() throws Exception {
+        File dataDir = new File(sink, "data");
+        Set<String> favoriteKeys = new HashSet<>(favorites);
+        
+        List<List<Object>> chunk = new ArrayList<>();
+        int chunkCount = 0;
+        for (Map.Entry<String, String> specimen : specimens.entrySet()) {
+            chunk.add(Arrays.asList(specimen.getKey(), specimen.getValue(), favoriteKeys.contains(specimen.getKey()) ? 1 : 0));
+            if (chunk.size() == specimenIndexChunkSize) {
+                output.writeBytes(new File(dataDir, "specimens/" + chunkCount++ + ".json"), JSONValue.toJSONString(chunk).getBytes(StandardCharsets.UTF_8));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            output.writeBytes(new File(dataDir, "specimens/" + chunkCount++ + ".json"), JSONValue.toJSONString(chunk).getBytes(StandardCharsets.UTF_8));
+        }
+        
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("count", specimens.size());
+        index.put("chunkSize", specimenIndexChunkSize);
+        index.put("chunks", chunkCount);
+        index.put("favorites", favorites.stream().map(e -> Arrays.asList(e, specimens.get(e), 1)).collect(Collectors.toList()));
+        output.writeBytes(new File(dataDir, "specimenIndex.json"), JSONValue.toJSONString(index).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void makeSearchIndex() throws Exception {
+        SearchIndex searchIndex = new SearchIndex();
+        int position = 0;
+        for (String id : specimens.keySet()) {
+            SearchIndex.Document searchDocument = searchDocuments.get(id);
+            if (searchDocument != null) {
+                searchIndex.addDocument(position, searchDocument, taxonomyDescriptionMap);
+            }
+            position++;
+        }
+        searchIndex.write(output, new File(sink, "data/search"));
+    }
+    
+    private void makeAssets() throws Exception {
+        File assetsDir = new File(sink, "assets");
+        
+        File faviconArchive = new File(config.getResources(), "assets/favicon.zip");
+        try (ZipFile faviconZip = new ZipFile(faviconArchive)) {
+            List<? extends ZipEntry> favicons = faviconZip.stream()
+                    .filter(e -> !e.isDirectory())
+                    .sorted(Comparator.comparing(ZipEntry::getName))
+                    .collect(Collectors.toList());
+            for (ZipEntry favicon : favicons) {
+                try (InputStream in = faviconZip.getInputStream(favicon)) {
+                    output.writeBytes(new File(assetsDir, favicon.getName()), in.readAllBytes());
+                }
+            }
+        }
+        
+        File starIcon = new File(config.getResources(), "assets/star.png");
+        output.copyFile(starIcon, new File(assetsDir, starIcon.getName()));
+    }
+    
+    private void makeLegacyRedirects() throws Exception {
+        File specimensSinkDir = new File(sink, "specimens");
+        Set<String> shards = specimens.keySet().stream().map(SpecimenIds::getShard).collect(Collectors.toSet());
+        for (String id : specimens.keySet()) {
+            if (shards.contains(id)) {
+                continue;
+            }
+            File legacyDir = new File(specimensSinkDir, id);
+            for (String pageName : Arrays.asList("main.html", "content.html")) {
+                String target = "../" + SpecimenIds.getPath(id) + "/" + pageName;
+                List<String> content = new ArrayList<>();
+                content.add("<!DOCTYPE html>");
+                content.add("<html>");
+                content.add("\t<head>");
+                content.add("\t\t<meta http-equiv=\"refresh\" content=\"0; url=" + target + "\">");
+                content.add("\t\t<link rel=\"canonical\" href=\"" + target + "\">");
+                content.add("\t</head>");
+                content.add("</html>");
+                output.writeLines(new File(legacyDir, pageName), content);
+            }
+        }
+    }
+    
+    private void makeSpecimenPages() throws Exception {
+        File specimensSinkDir = new File(sink, "specimens");
+        
+        List<File> specimenDirs = catalog.getSpecimenDirs(specimensSource);
+        if (draftMode) {
+            specimenDirs = specimenDirs.stream().filter(this::isDraftSpecimen).collect(Collectors.toList());
+        }
+        int rangeStart = 0;
+        int rangeEnd = specimenDirs.size();
+        if (config.isShardWorker()) {
+            rangeStart = ShardUtility.getRangeStart(specimenDirs.size(), config.getShardIndex(), config.getShardCount());
+            rangeEnd = ShardUtility.getRangeEnd(specimenDirs.size(), config.getShardIndex(), config.getShardCount());
+        }
+        
+        List<SpecimenTask> tasks = new ArrayList<>();
+        for (int i = rangeStart; i < rangeEnd; i++) {
+            String previousId = (i > 0) ? SpecimenIds.getId(specimenDirs.get(i - 1)) : null;
+            String nextId = (i < (specimenDirs.size() - 1)) ? SpecimenIds.getId(specimenDirs.get(i + 1)) : null;
+            tasks.add(new SpecimenTask(specimenDirs.get(i), previousId, nextId));
+        }
+        
+        BlockingQueue<SpecimenTask> parseQueue = new ArrayBlockingQueue<>(config.getPipelineQueueCapacity());
+        BlockingQueue<SpecimenTask> mediaQueue = new ArrayBlockingQueue<>(config.getPipelineQueueCapacity());
+        BlockingQueue<SpecimenTask> renderQueue = new ArrayBlockingQueue<>(config.getPipelineQueueCapacity());
+        BlockingQueue<SpecimenTask> writeQueue = new ArrayBlockingQueue<>(config.getPipelineQueueCapacity());
+        
+        int renderThreads = config.isParallelBuild() ? config.getRenderThreads() : 1;
+        ExecutorService stages = Executors.newFixedThreadPool(renderThreads + 3);
+        try (MediaUploader uploader = new MediaUploader(resources, config.getUploadThreads(), config.getPipelineQueueCapacity())) {
+            stages.submit(() -> runStage(parseQueue, task -> parseSpecimen(task, specimensSinkDir, mediaQueue)));
+            stages.submit(() -> runStage(mediaQueue, task -> resolveSpecimenMedia(task, specimensSinkDir, uploader, renderQueue)));
+            for (int i = 0; i < renderThreads; i++) {
+                stages.submit(() -> runStage(renderQueue, task -> renderSpecimen(task, specimensSinkDir, writeQueue)));
+            }
+            stages.submit(() -> runStage(writeQueue, this::writeSpecimen));
+            
+            for (SpecimenTask task : tasks) {
+                parseQueue.put(task);
+            }
+            for (SpecimenTask task : tasks) {
+                SpecimenResult result = task.result.get();
+                metrics.recordSpecimen(result.specimen.getId(), task.parseNanos, task.mediaNanos, task.renderNanos);
+                registerSpecimen(result);
+            }
+        } finally {
+            stages.shutdownNow();
+        }
+    }
+    
+    private void makeShardedSpecimenPages() throws Exception {
+        File shardWorkDir = config.getShardWorkDir();
+        int shardCount = config.getShardCount();
+        
+        List<Process> workers = new ArrayList<>();
+        if (config.isLaunchShardWorkers()) {
+            ShardUtility.clearPartials(shardWorkDir, shardCount);
+            File configFile = ShardUtility.getConfig(shardWorkDir);
+            config.save(configFile);
+            workers = ShardUtility.launchWorkers(SpecimensWebsiteGenerator.class, configFile, shardCount);
+        }
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                mergeShardPartial(ShardUtility.awaitPartial(shardWorkDir, i, workers.isEmpty() ? null : workers.get(i), config.getShardTimeoutMillis()));
+            }
+        } finally {
+            workers.forEach(Process::destroy);
+        }
+        uniqueSpecimenCount.add(TaxonomyMap.countUnique(taxonomyMap));
+    }
+    
+    private void writeShardPartial(Map<String, String> loadedReferences) throws Exception {
+        Map<String, Object> partial = new LinkedHashMap<>();
+        partial.put("specimens", specimens.entrySet().stream().map(e -> Arrays.asList(e.getKey(), e.getValue())).collect(Collectors.toList()));
+        partial.put("favorites", favorites);
+        partial.put("taxonomy", TaxonomyMap.toData(taxonomyMap));
+        partial.put("descriptions", taxonomyDescriptionEntries);
+        partial.put("search", searchDocuments.entrySet().stream().map(e -> Arrays.asList(e.getKey(), e.getValue().toData())).collect(Collectors.toList()));
+        
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("specimens", specimenCount.sum());
+        counters.put("photos", photoCount.sum());
+        counters.put("favorites", favoriteSpecimenCount.sum());
+        counters.put("speciesLevelIds", speciesLevelIdCount.sum());
+        counters.put("nonSpeciesLevelIds", nonSpeciesLevelIdCount.sum());
+        counters.put("finalized", finalizedSpecimenCount.sum());
+        counters.put("unfinalized", unfinalizedSpecimenCount.sum());
+        partial.put("counters", counters);
+        
+        List<List<String>> uploadedReferences = new ArrayList<>();
+        synchronized (resources.getImageReferences()) {
+            resources.getImageReferences().forEach((key, value) -> {
+                if (!value.equals(loadedReferences.get(key))) {
+                    uploadedReferences.add(Arrays.asList(key, value));
+                }
+            });
+        }
+        partial.put("imageReferences", uploadedReferences);
+        
+        ShardUtility.writePartial(config.getShardWorkDir(), config.getShardIndex(), partial);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void mergeShardPartial(Map<String, Object> partial) {
+        File specimensSinkDir = new File(sink, "specimens");
+        for (List<String> specimen : (List<List<String>>) partial.get("specimens")) {
+            specimens.put(specimen.get(0), specimen.get(1));
+            output.retain(new File(specimensSinkDir, SpecimenIds.getPath(specimen.get(0))));
+        }
+        favorites.addAll((List<String>) partial.get("favorites"));
+        TaxonomyMap.mergeMap(taxonomyMap, TaxonomyMap.fromData((Map<String, Object>) partial.get("taxonomy")));
+        
+        for (List<String> description : (List<List<String>>) partial.get("descriptions")) {
+            addTaxonomyDescription(description.get(0), description.get(1), description.get(2));
+        }
+        
+        for (List<Object> searchDocument : (List<List<Object>>) partial.get("search")) {
+            searchDocuments.put((String) searchDocument.get(0), SearchIndex.Document.fromData((List<Object>) searchDocument.get(1)));
+        }
+        
+        Map<String, Long> counters = (Map<String, Long>) partial.get("counters");
+        specimenCount.add(counters.get("specimens"));
+        photoCount.add(counters.get("photos"));
+        favoriteSpecimenCount.add(counters.get("favorites"));
+        speciesLevelIdCount.add(counters.get("speciesLevelIds"));
+        nonSpeciesLevelIdCount.add(counters.get("nonSpeciesLevelIds"));
+        finalizedSpecimenCount.add(counters.get("finalized"));
+        unfinalizedSpecimenCount.add(counters.get("unfinalized"));
+        
+        for (List<String> imageReference : (List<List<String>>) partial.get("imageReferences")) {
+            resources.getImageReferences().put(imageReference.get(0), imageReference.get(1));
+        }
+    }
+    
+    private boolean isDraftSpecimen(File specimenDir) {
+        Specimen specimen = catalog.getSpecimen(specimenDir);
+        int id = Integer.parseInt(specimen.getId());
+        return (id >= config.getDraftFirstId()) && (id <= config.getDraftLastId()) &&
+                (!config.isDraftFavoritesOnly() || specimen.isFavorite()) &&
+                (config.getDraftTaxon().isEmpty() || specimen.getTaxonomy().stream().anyMatch(e -> config.getDraftTaxon().equalsIgnoreCase(e.getValue())));
+    }
+    
+    private void runStage(BlockingQueue<SpecimenTask> queue, SpecimenStage stage) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                SpecimenTask task = queue.take();
+                try {
+                    stage.process(task);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    task.result.completeExceptionally(e);
+                }
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+    
+    private void parseSpecimen(SpecimenTask task, File specimensSinkDir, BlockingQueue<SpecimenTask> mediaQueue) throws Exception {
+        long start = System.nanoTime();
+        task.specimen = catalog.getSpecimen(task.specimenDir);
+        
+        if (incremental) {
+            String fingerprint;
+            ManifestUtility.ManifestEntry unchangedEntry;
+            if ((dirtySpecimens != null) && !dirtySpecimens.contains(task.specimenDir.getName())) {
+                unchangedEntry = manifest.getEntry(task.specimen.getId());
+                fingerprint = (unchangedEntry != null) ? unchangedEntry.fingerprint : null;
+            } else {
+                fingerprint = manifest.fingerprintSpecimen(task.specimenDir, task.previousId, task.nextId);
+                unchangedEntry = manifest.getUnchangedEntry(task.specimen.getId(), fingerprint);
+            }
+            if ((unchangedEntry != null) && output.exists(new File(specimensSinkDir, SpecimenIds.getPath(task.specimen.getId()) + "/content.html"))) {
+                SpecimenResult result = new SpecimenResult(task.specimen);
+                result.photoCount = unchangedEntry.photoCount;
+                result.finalized = unchangedEntry.finalized;
+                result.fingerprint = fingerprint;
+                output.retain(new File(specimensSinkDir, SpecimenIds.getPath(task.specimen.getId())));
+                task.parseNanos = System.nanoTime() - start;
+                task.result.complete(result);
+                return;
+            }
+        }
+        
+        task.parseNanos = System.nanoTime() - start;
+        mediaQueue.put(task);
+    }
+    
+    private void resolveSpecimenMedia(SpecimenTask task, File specimensSinkDir, MediaUploader uploader, BlockingQueue<SpecimenTask> renderQueue) throws Exception {
+        long start = System.nanoTime();
+        File specimenSinkDir = new File(specimensSinkDir, SpecimenIds.getPath(task.specimen.getId()));
+        
+        List<Map<File, CompletableFuture<String>>> pendingLinks = new ArrayList<>();
+        int photoSubDirIndex = 0;
+        for (Specimen.PhotoCategory photoCategory : task.specimen.getPhotoCategories()) {
+            Map<File, CompletableFuture<String>> categoryLinks = new LinkedHashMap<>();
+            for (File photo : photoCategory.getPhotos()) {
+                String fileType = Filesystem.getFileType(photo);
+                if (!fileType.equals(fileType.toLowerCase())) {
+                    File photoTmp = new File(photo.getParentFile(), photo.getName().replace(("." + fileType), ("tmp." + fileType.toLowerCase())));
+                    Filesystem.moveFile(photo, photoTmp);
+                    photo = new File(photoTmp.getParentFile(), photoTmp.getName().replace(("tmp." + fileType.toLowerCase()), ("." + fileType.toLowerCase())));
+                    Filesystem.moveFile(photoTmp, photo);
+                }
+                
+                String link = resources.getImageLink(photo, specimenSinkDir, photoSubDirIndex);
+                if ((link == null) && draftMode) {
+                    link = photo.toPath().toUri().toString();
+                }
+                categoryLinks.put(photo, (link != null) ? CompletableFuture.completedFuture(link) : uploader.submit(photo));
+            }
+            pendingLinks.add(categoryLinks);
+            photoSubDirIndex++;
+        }
+        
+        CompletableFuture.allOf(pendingLinks.stream().flatMap(e -> e.values().stream()).toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            if (error != null) {
+                task.result.completeExceptionally(error);
+                return;
+            }
+            
+            task.mediaLinks = new ArrayList<>();
+            for (Map<File, CompletableFuture<String>> categoryLinks : pendingLinks) {
+                Map<File, String> resolvedLinks = new LinkedHashMap<>();
+                categoryLinks.forEach((photo, link) -> resolvedLinks.put(photo, link.join()));
+                task.mediaLinks.add(resolvedLinks);
+            }
+            task.mediaNanos = System.nanoTime() - start;
+            try {
+                renderQueue.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                task.result.completeExceptionally(e);
+            }
+        });
+    }
+    
+    private void renderSpecimen(SpecimenTask task, File specimensSinkDir, BlockingQueue<SpecimenTask> writeQueue) throws Exception {
+        BuildEvents.SpecimenRender event = new BuildEvents.SpecimenRender();
+        event.begin();
+        long start = System.nanoTime();
+        task.rendered = makeSpecimenPage(task, specimensSinkDir);
+        task.renderNanos = System.nanoTime() - start;
+        if (event.shouldCommit()) {
+            event.specimenId = task.specimen.getId();
+            event.photoCount = task.rendered.photoCount;
+            event.bytes = task.pages.values().stream().mapToLong(e -> e.length).sum();
+            event.commit();
+        }
+        writeQueue.put(task);
+    }
+    
+    private void writeSpecimen(SpecimenTask task) throws Exception {
+        for (Map.Entry<File, byte[]> page : task.pages.entrySet()) {
+            output.writeBytes(page.getKey(), page.getValue());
+        }
+        
+        if (incremental) {
+            task.rendered.fingerprint = manifest.fingerprintSpecimen(task.specimenDir, task.previousId, task.nextId);
+        }
+        task.result.complete(task.rendered);
+    }
+    
+    private void registerSpecimen(SpecimenResult result) {
+        Specimen specimen = result.specimen;
+        specimens.put(specimen.getId(), specimen.getName());
+        searchDocuments.put(specimen.getId(), new SearchIndex.Document(specimen));
+        
+        if (specimen.isFavorite()) {
+            favorites.add(specimen.getId());
+            favoriteSpecimenCount.increment();
+        }
+        
+        if (specimen.isTaxonomyPresent()) {
+            addToTaxonomyMap(specimen.getTaxonomy(), specimen.getName());
+            addTaxonomyDescriptions(specimen.getTaxonomy(), specimen.getName());
+        }
+        
+        result.messages.forEach(System.err::println);
+        photoCount.add(result.photoCount);
+        specimenCount.increment();
+        if (!result.finalized) {
+            System.out.println("Not Finalized: " + specimen.getName());
+            unfinalizedSpecimenCount.increment();
+        } else {
+            finalizedSpecimenCount.increment();
+        }
+        
+        if (incremental) {
+            List<String> taxonomyLines = new ArrayList<>();
+            specimen.getTaxonomy().forEach(e -> taxonomyLines.add(e.getLine()));
+            manifest.putEntry(specimen.getId(), result.fingerprint, result.photoCount, result.finalized);
+            manifest.addGlobalInput(specimen.getId(), specimen.getName(), specimen.isFavorite(), taxonomyLines);
+        }
+    }
+    
+    private SpecimenResult makeSpecimenPage(SpecimenTask task, File specimensSinkDir) throws Exception {
+        Specimen specimen = task.specimen;
+        String prev = task.previousId;
+        String next = task.nextId;
+        SpecimenResult result = new SpecimenResult(specimen);
+        String name = specimen.getName();
+        String id = specimen.getId();
+        
+        File specimenSinkDir = new File(specimensSinkDir, SpecimenIds.getPath(id));
+        int specimenPhotoCount = 0;
+        
+        for (SpecimenValidator.Finding finding : SpecimenValidator.validateSpecimen(specimen, categories)) {
+            if (!finding.isWarning()) {
+                result.messages.add(finding.getMessage());
+            }
+        }
+        
+        String favoriteIcon = "";
+        if (specimen.isFavorite()) {
+            favoriteIcon = "<img src=\"../../../assets/star.png\" width=\"32px\" height=\"30px\"/> ";
+        }
+        
+        ByteArrayOutputStream mainPage = new ByteArrayOutputStream();
+        PageWriter.writeIndexPage(mainPage, output.getLineSeparator(), 3);
+        task.pages.put(new File(specimenSinkDir, "main.html"), mainPage.toByteArray());
+        
+        ByteArrayOutputStream contentPage = new ByteArrayOutputStream();
+        try (PageWriter page = new PageWriter(contentPage, output.getLineSeparator(), false, false, 3, "../../../scripts/lightbox.js")) {
+            page.writeLine("<p width=\"75%\">");
+            if (prev != null) {
+                page.writeLine("\t<span style=\"float: left; padding-left: 8px;\">" +
+                        "<a href=\"../../" + SpecimenIds.getPath(prev) + "/content.html\" target=\"mainFrame\">" +
+                        "&lt;&lt; Previous (" + prev + ")" +
+                        "</a></span>");
+            } else {
+                page.writeLine("\t<span style\"float: left;\"/>");
+            }
+            if (next != null) {
+                page.writeLine("\t<span style=\"float: right; padding-right: 8px;\">" +
+                        "<a href=\"../../" + SpecimenIds.getPath(next) + "/content.html\" target=\"mainFrame\">" +
+                        "(" + next + ") Next &gt;&gt;" +
+                        "</a></span>");
+            } else {
+                page.writeLine("\t<span style\"float: right;\"/>");
+            }
+            page.writeLine("</p>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            
+            page.writeLine("<h1>" + favoriteIcon + name + "</h1>");
+            page.writeLine("<hr>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            page.writeLine("<center>");
+            
+            if (specimen.isIdPresent()) {
+                page.writeLine("\t<p><b>");
+                List<Specimen.IdLine> idLines = specimen.getIdLines();
+                for (int i = 0; i < idLines.size(); i++) {
+                    page.writeLine("\t\t" + makeIdLine(idLines.get(i)) + ((i < idLines.size() - 1) ? "<br>" : ""));
+                }
+                page.writeLine("\t</b></p>");
+                page.writeLine("");
+                page.writeLine("\t<br>");
+                page.writeLine("\t<hr>");
+                page.writeLine("\t<br>");
+                page.writeLine("");
+            }
+            
+            if (specimen.getBugGuideUrl() != null) {
+                page.writeLine("\t<p>");
+                page.writeLine("\t\t<a href=\"" + specimen.getBugGuideUrl() + "\" target=\"" + (openLinksInternally ? "mainFrame" : "#") + "\">BugGuide Submission</a>");
+                page.writeLine("\t</p>");
+                page.writeLine("");
+            }
+            String thisPageUrl = "https://zgorlock.github.io/Specimens/specimens/" + SpecimenIds.getPath(id) + "/main.html";
+            page.writeLine("\t<p>");
+            page.writeLine("\t\t<a href=\"" + thisPageUrl + "\" target=\"" + (openLinksInternally ? "mainFrame" : "#") + "\">Link to This Page</a>");
+            page.writeLine("\t</p>");
+            page.writeLine("");
+            page.writeLine("\t<br>");
+            page.writeLine("\t<hr>");
+            page.writeLine("\t<br>");
+            page.writeLine("");
+            
+            if (specimen.isTaxonomyPresent()) {
+                page.writeLine("\t<p>");
+                page.writeLine("\t<table>");
+                for (Specimen.TaxonomyRank taxonomyRank : specimen.getTaxonomy()) {
+                    page.writeLine("\t\t<tr>");
+                    page.writeLine("\t\t\t<td class=\"td-left\"><b>" + taxonomyRank.getKey() + "</b></td>");
+                    page.writeLine("\t\t\t<td class=\"td-right\">" + taxonomyRank.getValue() + "</td>");
+                    page.writeLine("\t\t</tr>");
+                }
+                page.writeLine("\t</table>");
+                page.writeLine("\t</p>");
+                page.writeLine("");
+                page.writeLine("\t<br>");
+                page.writeLine("\t<hr>");
+                page.writeLine("\t<br>");
+                page.writeLine("");
+            }
+            
+            if (specimen.isPhotosPresent()) {
+                int photoSubDirIndex = 0;
+                for (Specimen.PhotoCategory photoCategory : specimen.getPhotoCategories()) {
+                    String photoDirName = photoCategory.getCategory();
+                    page.writeLine("\t<p>" + photoDirName + "</p>");
+                    page.writeLine("\t<br>");
+                    
+                    Map<File, String> photoLinks = task.mediaLinks.get(photoSubDirIndex);
+                    
+                    int index = 0;
+                    for (Map.Entry<File, String> photoLink : photoLinks.entrySet()) {
+                        File photo = photoLink.getKey();
+                        String image = photoLink.getValue();
+                        String imageId = "img_" + photoDirName.toLowerCase().replace(" ", "_") + index;
+                        if (photo.getName().toLowerCase().endsWith("mp4")) {
+                            page.writeLine("\t<a id=\"" + imageId + "\" href=\"" + image + "\" target=\"_blank\" data-lightbox=\"video\"><video width=\"720\" height=\"480\" controls><source src=\"" + image + "\" type=\"video/mp4\"></video></a><br>");
+                        } else {
+                            page.writeLine("\t<a id=\"" + imageId + "\" href=\"" + image + "\" target=\"_blank\" data-lightbox=\"image\"><img src=\"" + image + "\" width=\"50%\" height=\"50%\" style=\"max-height: 100vh; object-fit: contain;\"/></a><br>");
+                        }
+                        index++;
+                        specimenPhotoCount++;
+                    }
+                    
+                    page.writeLine("\t<br>");
+                    page.writeLine("");
+                    page.writeLine("\t<br>");
+                    page.writeLine("\t<hr>");
+                    page.writeLine("\t<br>");
+                    page.writeLine("");
+                    
+                    photoSubDirIndex++;
+                }
+            }
+            
+            page.writeLine("\t<p width=\"75%\">");
+            if (prev != null) {
+                page.writeLine("\t\t<span style=\"float: left; padding-left: 8px;\">" +
+                        "<a href=\"../../" + SpecimenIds.getPath(prev) + "/content.html\" target=\"mainFrame\">" +
+                        "&lt;&lt; Previous (" + prev + ")" +
+                        "</a></span>");
+            } else {
+                page.writeLine("\t\t<span style\"float: left;\"/>");
+            }
+            if (next != null) {
+                page.writeLine("\t\t<span style=\"float: right; padding-right: 8px;\">" +
+                        "<a href=\"../../" + SpecimenIds.getPath(next) + "/content.html\" target=\"mainFrame\">" +
+                        "(" + next + ") Next &gt;&gt;" +
+                        "</a></span>");
+            } else {
+                page.writeLine("\t\t<span style\"float: right;\"/>");
+            }
+            page.writeLine("\t</p>");
+            page.writeLine("\t<br>");
+            page.writeLine("");
+            
+            if (specimen.isReferencesPresent()) {
+                page.writeLine("\t<p>References</p>");
+                for (Map.Entry<String, String> referenceEntry : specimen.getReferences().entrySet()) {
+                    page.writeLine("\t<a href=\"" + referenceEntry.getValue() + "\" target=\"" + (openLinksInternally ? "mainFrame" : "#") + "\">" + StringUtility.rShear(referenceEntry.getKey(), 4) + "</a><br>");
+                }
+                
+                page.writeLine("");
+                page.writeLine("\t<br>");
+                page.writeLine("\t<hr>");
+                page.writeLine("");
+                
+            }
+            page.writeLine("</center>");
+            page.finish();
+        }
+        task.pages.put(new File(specimenSinkDir, "content.html"), contentPage.toByteArray());
+        
+        result.photoCount = specimenPhotoCount;
+        result.finalized = specimen.isFinalized();
+        return result;
+    }
+    
+    private String makeIdLine(Specimen.IdLine idLine) {
+        Specimen.Coordinates coordinates = idLine.getCoordinates();
+        if (coordinates == null) {
+            String line = idLine.getText();
+            for (String reference : idLine.getReferences()) {
+                line = line.replace(("#" + reference), "<a href=\"../../" + SpecimenIds.getPath(reference) + "/content.html\" target=\"mainFrame\">" + reference + "</a>");
+            }
+            return line;
+        }
+        
+        double latitude = coordinates.getLatitude();
+        double longitude = coordinates.getLongitude();
+        StringBuilder latitudeDms = new StringBuilder();
+        double tmpLatitude = Math.abs(latitude);
+        latitudeDms.append((int) tmpLatitude).append('°');
+        tmpLatitude -= (int) tmpLatitude;
+        tmpLatitude *= 60.0;
+        latitudeDms.append((int) tmpLatitude).append('\'');
+        tmpLatitude -= (int) tmpLatitude;
+        tmpLatitude *= 60.0;
+        latitudeDms.append((int) tmpLatitude);
+        tmpLatitude -= (int) tmpLatitude;
+        tmpLatitude *= 10.0;
+        latitudeDms.append('.').append((int) Math.round(tmpLatitude)).append('\"');
+        StringBuilder longitudeDms = new StringBuilder();
+        double tmpLongitude = Math.abs(longitude);
+        longitudeDms.append((int) tmpLongitude).append('°');
+        tmpLongitude -= (int) tmpLongitude;
+        tmpLongitude *= 60.0;
+        longitudeDms.append((int) tmpLongitude).append('\'');
+        tmpLongitude -= (int) tmpLongitude;
+        tmpLongitude *= 60.0;
+        longitudeDms.append((int) tmpLongitude);
+        tmpLongitude -= (int) tmpLongitude;
+        tmpLongitude *= 10.0;
+        longitudeDms.append('.').append((int) Math.round(tmpLongitude)).append('\"');
+        String dms = latitudeDms.toString() + ((latitude >= 0) ? 'N' : 'S') + ' ' +
+                longitudeDms + ((longitude >= 0) ? 'E' : 'W');
+        String encodedDms = dms.replace(" ", "+").replace("\"", "%22")
+                .replace("'", "%27").replace("°", "%C2%B0");
+        String coordinateLink = "https://www.google.com/maps/place/" + encodedDms + "/@" +
+                coordinates.getLatitudeText() + ',' + coordinates.getLongitudeText() + "/data=!3m1!1e3";
+        return "<a href=\"" + coordinateLink + "\" target=\"_blank\">" + dms + "</a>, " + coordinates.getElevation();
+    }
+    
+    private void addToTaxonomyMap(List<Specimen.TaxonomyRank> taxonomy, String specimen) {
+        TaxonomyMap node = taxonomyMap;
+        boolean isSpeciesId = false;
+        for (Specimen.TaxonomyRank taxonomyRank : taxonomy) {
+            if (taxonomyRank.isNoTaxon()) {
+                continue;
+            }
+            String key = taxonomyRank.getKey();
+            String value = taxonomyRank.getValue();
+            
+            boolean found = false;
+            for (TaxonomyMap.Taxon taxon : TaxonomyMap.Taxon.values()) {
+                if (taxon.name().equalsIgnoreCase(key)) {
+                    found = true;
+                    isSpeciesId |= (taxon == TaxonomyMap.Taxon.SPECIES);
+                    break;
+                }
+            }
+            if (!found) {
+                continue;
+            }
+            
+            boolean hit = false;
+            for (TaxonomyMap nodeEntry : node.nodes) {
+                if (nodeEntry.nodeKey.equals(key) && nodeEntry.nodeValue.equalsIgnoreCase(value)) {
+                    node = nodeEntry;
+                    hit = true;
+                    break;
+                }
+            }
+            if (!hit) {
+                TaxonomyMap newNode = new TaxonomyMap(value);
+                newNode.nodeKey = key;
+                node.nodes.add(newNode);
+                node = newNode;
+            }
+        }
+        
+        if (isSpeciesId) {
+            speciesLevelIdCount.increment();
+        } else {
+            nonSpeciesLevelIdCount.increment();
+        }
+        
+        TaxonomyMap newNode = new TaxonomyMap(specimen);
+        node.nodes.add(newNode);
+        node.quantity++;
+        if (node.quantity == 1) {
+            uniqueSpecimenCount.increment();
+        }
+    }
+    
+    private void addTaxonomyDescriptions(List<Specimen.TaxonomyRank> taxonomy, String name) {
+        for (Specimen.TaxonomyRank taxonomyRank : taxonomy) {
+            String key = taxonomyRank.getKey();
+            String value = taxonomyRank.getValue();
+            if (!key.equals("Species") && !key.equals("Subspecies")) {
+                addTaxonomyDescription(name, value, taxonomyRank.getDescription());
+            }
+        }
+    }
+    
+    private void addTaxonomyDescription(String name, String value, String description) {
+        if (config.isShardWorker()) {
+            taxonomyDescriptionEntries.add(Arrays.asList(name, value, description));
+            taxonomyDescriptionMap.putIfAbsent(value, description);
+            return;
+        }
+        
+        if (!taxonomyDescriptionMap.containsKey(value)) {
+            taxonomyDescriptionMap.put(value, description);
+        } else {
+            if (!taxonomyDescriptionMap.get(value).equals(description)) {
+                System.err.println("Taxonomy description for: " + name + " - " + value + " " + description + " does not match " + taxonomyDescriptionMap.get(value));
+            }
+        }
+    }
+    
+    private void makeReferences() throws Exception {
+        File referencesSinkDir = new File(sink, "references");
+        PageWriter.writeIndexPage(output, new File(referencesSinkDir, "main.html"), 1);
+        
+        try (PageWriter page = new PageWriter(output, new File(referencesSinkDir, "content.html"), false, false, 1)) {
+            page.writeLine("<h1>References</h1>");
+            page.writeLine("<hr>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            
+            for (File referencesDirectory : SortedTraversal.getDirs(referencesSource)) {
+                page.writeLine("<div style=\"padding-left: 10%\">");
+                page.writeLine("\t<p>" + referencesDirectory.getName() + "</p>");
+                page.writeLine("\t<ul>");
+                for (File reference : SortedTraversal.getFiles(referencesDirectory)) {
+                    page.writeLine("\t\t<li><a href=\"" + ResourceUtility.getUrlFromShortcut(reference) + "\" target=\"_blank\">" + StringUtility.rShear(reference.getName(), 4) + "</a></li>");
+                }
+                page.writeLine("\t</ul>");
+                page.writeLine("</div>");
+                page.writeLine("<br>");
+                page.writeLine("");
+            }
+            
+            page.writeLine("<div style=\"padding-left: 10%\">");
+            page.writeLine("\t<p>Other</p>");
+            page.writeLine("\t<ul>");
+            for (File reference : SortedTraversal.getFiles(referencesSource)) {
+                page.writeLine("\t\t<li><a href=\"" + ResourceUtility.getUrlFromShortcut(reference) + "\" target=\"_blank\">" + StringUtility.rShear(reference.getName(), 4) + "</a></li>");
+            }
+            page.writeLine("\t</ul>");
+            page.writeLine("</div>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            page.finish();
+        }
+    }
+    
+    private void makeDraftStub(String outputName, String title) throws Exception {
+        File stubSinkDir = new File(sink, outputName);
+        PageWriter.writeIndexPage(output, new File(stubSinkDir, "main.html"), 1);
+        
+        try (PageWriter page = new PageWriter(output, new File(stubSinkDir, "content.html"), false, false, 1)) {
+            page.writeLine("<h1>" + title + "</h1>");
+            page.writeLine("<hr>");
+            page.writeLine("<br>");
+            page.writeLine("<p style=\"padding-left: 10%\">Not included in draft builds.</p>");
+            page.writeLine("");
+            page.finish();
+        }
+    }
+    
+    private void makeVialRacks() throws Exception {
+        File vialRacksSinkDir = new File(sink, "vialRacks");
+        PageWriter.writeIndexPage(output, new File(vialRacksSinkDir, "main.html"), 1);
+        
+        try (PageWriter page = new PageWriter(output, new File(vialRacksSinkDir, "content.html"), false, false, 1)) {
+            page.writeLine("<h1>Vial Racks</h1>");
+            page.writeLine("<hr>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            
+            page.writeLine("<br>");
+            page.writeLine("<div style=\"padding-left: 10%\">");
+            for (File vialRack : SortedTraversal.getFiles(vialRacksSource)) {
+                String remoteLocation = resources.linkVialRack(vialRack);
+                if (remoteLocation == null) {
+                    continue;
+                }
+                page.writeLine("\t<a href=\"https://docs.google.com/uc?export=download&id=" + remoteLocation + "\" target=\"mainFrame\" download type=\"application/octet-stream\">" + vialRack.getName() + "</a><br>");
+            }
+            page.writeLine("</div>");
+            page.writeLine("<br>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            
+            List<File> vialRackDirectories = SortedTraversal.getDirs(vialRacksSource);
+            vialRackDirectories.sort((o1, o2) -> {
+                Double o1Number = null;
+                try {
+                    o1Number = Double.parseDouble(o1.getName().substring(0, o1.getName().indexOf(' ')));
+                } catch (Exception ignored) {
+                }
+                
+                Double o2Number = null;
+                try {
+                    o2Number = Double.parseDouble(o2.getName().substring(0, o2.getName().indexOf(' ')));
+                } catch (Exception ignored) {
+                }
+                
+                if (o1Number == null) {
+                    if (o2Number == null) {
+                        return o1.getName().compareTo(o2.getName());
+                    } else {
+                        return 1;
+                    }
+                } else {
+                    if (o2Number == null) {
+                        return -1;
+                    } else {
+                        return o1Number.compareTo(o2Number);
+                    }
+                }
+            });
+            
+            for (File vialRackDirectory : vialRackDirectories) {
+                page.writeLine("<div style=\"padding-left: 10%\">");
+                page.writeLine("\t<p>" + vialRackDirectory.getName() + "</p>");
+                page.writeLine("\t<ul>");
+                for (File vialRack : SortedTraversal.getFiles(vialRackDirectory)) {
+                    String remoteLocation = resources.linkVialRack(vialRack);
+                    if (remoteLocation == null) {
+                        continue;
+                    }
+                    page.writeLine("\t<a href=\"https://docs.google.com/uc?export=download&id=" + remoteLocation + "\" target=\"mainFrame\" download type=\"application/octet-stream\">" + vialRack.getName() + "</a><br>");
+                }
+                page.writeLine("\t</ul>");
+                page.writeLine("</div>");
+                page.writeLine("<br>");
+                page.writeLine("");
+            }
+            
+            page.finish();
+        }
+    }
+    
+    private void makeTreeView() throws Exception {
+        File treeViewDirectory = new File(sink, "treeview");
+        PageWriter.writeIndexPage(output, new File(treeViewDirectory, "main.html"), 1);
+        
+        TaxonomyMap.cleanMap(taxonomyMap);
+        TreeViewNode root = makeTreeViewNodes(new File(treeViewDirectory, "nodes"));
+        
+        try (PageWriter page = new PageWriter(output, new File(treeViewDirectory, "content.html"), false, false, 1,
+                "../scripts/specimenIndex.js", "../scripts/treeView.js")) {
+            page.writeLine("<h1>Specimen Tree View</h1>");
+            page.writeLine("<hr>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            
+            page.writeLine("<ul id=\"myUL\">");
+            page.writeLine("\t<li><span class=\"caret\" data-node=\"" + root.id + "\">" + taxonomyMap.nodeValue + " (" + root.total + ")</span>");
+            page.writeLine("\t\t<ul class=\"nested\"></ul>");
+            page.writeLine("\t</li>");
+            page.writeLine("</ul>");
+            page.writeLine("");
+            page.finish();
+        }
+    }
+    
+    private TreeViewNode makeTreeViewNodes(File nodesDir) throws Exception {
+        Set<String> nodeFiles = new HashSet<>();
+        Deque<TreeViewNode> path = new ArrayDeque<>();
+        path.push(new TreeViewNode(taxonomyMap, taxonomyMap.nodeValue));
+        while (true) {
+            TreeViewNode current = path.peek();
+            if (current.next < current.node.nodes.size()) {
+                TaxonomyMap subNode = current.node.nodes.get(current.next++);
+                if (subNode.nodes.isEmpty()) {
+                    current.fragment.add(Arrays.asList(subNode.nodeValue.substring(0, subNode.nodeValue.indexOf(' ')), subNode.nodeValue));
+                    current.total++;
+                } else {
+                    path.push(new TreeViewNode(subNode, current.path + '/' + subNode.nodeKey + ':' + subNode.nodeValue));
+                }
+                continue;
+            }
+            
+            path.pop();
+            output.writeBytes(new File(nodesDir, current.id + ".json"), JSONValue.toJSONString(current.fragment).getBytes(StandardCharsets.UTF_8));
+            nodeFiles.add(current.id + ".json");
+            if (path.isEmpty()) {
+                if (output.isDiskOutput() && nodesDir.exists()) {
+                    for (File nodeFile : Filesystem.getFiles(nodesDir)) {
+                        if (!nodeFiles.contains(nodeFile.getName())) {
+                            output.deleteOutput(nodeFile);
+                        }
+                    }
+                }
+                return current;
+            }
+            
+            TreeViewNode parent = path.peek();
+            parent.fragment.add(Arrays.asList(current.node.nodeKey, current.node.nodeValue, taxonomyDescriptionMap.getOrDefault(current.node.nodeValue, ""), current.total, current.id));
+            parent.total += current.total;
+        }
+    }
+    
+    private void makeNavbar() throws Exception {
+        try (PageWriter page = new PageWriter(output, new File(sink, "navbar.html"), false, true, 0,
+                "scripts/specimenIndex.js", "scripts/navbarToggler.js", "scripts/navbarList.js", "scripts/randomSpecimenSelector.js")) {
+            page.writeLine("<a href=\"main.html\" target=\"mainFrame\" style=\"padding-left: 24px;\">HOME</a>");
+            page.writeLine("<a href=\"treeview/content.html\" target=\"mainFrame\" style=\"padding-left: 24px;\">TREE VIEW</a>");
+            page.writeLine("<a href=\"search.html\" target=\"mainFrame\" style=\"padding-left: 24px;\">SEARCH</a>");
+            
+            page.writeLine("<a class=\"randomSpecimen\" href=\"\" target=\"mainFrame\" style=\"padding-left: 24px;\">RANDOM SPECIMEN</a>");
+            
+            page.writeLine("<ul id=\"myUL\" style=\"padding: 6px 8px 6px 6px; color: #818181; font-size: 14px;\">");
+            page.writeLine("\t<li><span class=\"caret\">FAVORITES</span>");
+            page.writeLine("\t\t<ul id=\"favoriteList\" class=\"nested\" style=\"padding-left: 20px;\"></ul>");
+            page.writeLine("\t</li>");
+            page.writeLine("</ul>");
+            
+            page.writeLine("<ul id=\"myUL\" style=\"padding: 6px 8px 6px 6px; color: #818181; font-size: 14px;\">");
+            page.writeLine("\t<li><span class=\"caret caret-down\">SPECIMENS</span>");
+            page.writeLine("\t\t<ul id=\"specimenList\" class=\"nested active\" style=\"padding-left: 20px;\"></ul>");
+            page.writeLine("\t</li>");
+            page.writeLine("</ul>");
+            
+            page.writeLine("<a href=\"references/content.html\" target=\"mainFrame\" style=\"padding-left: 24px;\">REFERENCES</a>");
+            page.writeLine("<a href=\"vialRacks/content.html\" target=\"mainFrame\" style=\"padding-left: 24px;\">VIAL RACKS</a>");
+            
+            page.writeLine("<br>");
+            page.writeLine("<br>");
+            page.writeLine("<br>");
+            page.writeLine("");
+            page.finish();
+        }
+    }
+    
+    
+    //Inner Classes
+    
+    private static class SpecimenResult {
+        
+        Specimen specimen;
+        
+        int photoCount = 0;
+        
+        boolean finalized = false;
+        
+        String fingerprint;
+        
+        final List<String> messages = new ArrayList<>();
+        
+        public SpecimenResult(Specimen specimen) {
+            this.specimen = specimen;
+        }
+        
+    }
+    
+    private static class TreeViewNode {
+        
+        final TaxonomyMap node;
+        
+        final String path;
+        
+        final String id;
+        
+        final List<List<Object>> fragment = new ArrayList<>();
+        
+        int next = 0;
+        
+        int total = 0;
+        
+        TreeViewNode(TaxonomyMap node, String path) {
+            this.node = node;
+            this.path = path;
+            this.id = DigestUtils.md5Hex(path).substring(0, 16);
+        }
+        
+    }
+    
+    private static class SpecimenTask {
+        
+        final File specimenDir;
+        
+        final String previousId;
+        
+        final String nextId;
+        
+        final CompletableFuture<SpecimenResult> result = new CompletableFuture<>();
+        
+        Specimen specimen;
+        
+        List<Map<File, String>> mediaLinks;
+        
+        SpecimenResult rendered;
+        
+        final Map<File, byte[]> pages = new LinkedHashMap<>();
+        
+        long parseNanos = 0L;
+        
+        long mediaNanos = 0L;
+        
+        long renderNanos = 0L;
+        
+        public SpecimenTask(File specimenDir, String previousId, String nextId) {
+            this.specimenDir = specimenDir;
+            this.previousId = previousId;
+            this.nextId = nextId;
+        }
+        
+    }
+    
+    private interface SpecimenStage {
+        
+        void process(SpecimenTask task) throws Exception;
+        
+    }
+    
+    private static class TaxonomyMap {
+        
+        enum Taxon {
+            KINGDOM,
+            PHYLUM,
+            CLASS,
+            ORDER,
+            FAMILY,
+            GENUS,
+            SPECIES
+        }
+        
+        String nodeKey = "";
+        
+        String nodeValue = "";
+        
+        int quantity = 0;
+        
+        List<TaxonomyMap> nodes = new ArrayList<>();
+        
+        public TaxonomyMap(String nodeValue) {
+            this.nodeValue = nodeValue;
+        }
+        
+        public static void cleanMap(TaxonomyMap node) {
+            node.nodes.sort(Comparator.comparing((TaxonomyMap o) -> o.nodeValue).thenComparing(o -> o.nodeKey));
+            for (TaxonomyMap subNode : node.nodes) {
+                cleanMap(subNode);
+            }
+        }
+        
+        public static void mergeMap(TaxonomyMap node, TaxonomyMap other) {
+            node.quantity += other.quantity;
+            for (TaxonomyMap otherNode : other.nodes) {
+                TaxonomyMap match = otherNode.nodeKey.isEmpty() ? null : node.nodes.stream()
+                        .filter(e -> e.nodeKey.equals(otherNode.nodeKey) && e.nodeValue.equalsIgnoreCase(otherNode.nodeValue))
+                        .findFirst().orElse(null);
+                if (match != null) {
+                    mergeMap(match, otherNode);
+                } else {
+                    node.nodes.add(otherNode);
+                }
+            }
+        }
+        
+        public static int countUnique(TaxonomyMap node) {
+            int count = (node.quantity > 0) ? 1 : 0;
+            for (TaxonomyMap subNode : node.nodes) {
+                count += countUnique(subNode);
+            }
+            return count;
+        }
+        
+        public static Map<String, Object> toData(TaxonomyMap node) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("key", node.nodeKey);
+            data.put("value", node.nodeValue);
+            data.put("quantity", node.quantity);
+            data.put("nodes", node.nodes.stream().map(TaxonomyMap::toData).collect(Collectors.toList()));
+            return data;
+        }
+        
+        @SuppressWarnings("unchecked")
+        public static TaxonomyMap fromData(Map<String, Object> data) {
+            TaxonomyMap node = new TaxonomyMap((String) data.get("value"));
+            node.nodeKey = (String) data.get("key");
+            node.quantity = ((Number) data.get("quantity")).intValue();
+            for (Map<String, Object> subNode : (List<Map<String, Object>>) data.get("nodes")) {
+                node.nodes.add(fromData(subNode));
+            }
+            return node;
+        }
+        
+    }
+    
+}
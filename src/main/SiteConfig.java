@@ -0,0 +1,515 @@
+/*
+ * File:    SiteConfig.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import commons.access.Filesystem;
+import commons.access.Project;
+import org.json.simple.JSONValue;
+import utility.PageWeightAnalyzer;
+
+public class SiteConfig {
+    
+    //Constants
+    
+    public static final List<String> defaultCategories = Arrays.asList(
+            "From Store", "From Vendor", "Preliminary Attempt",
+            "Alive", "Dead", "Preparation", "Suspension", "Pre-Finalization",
+            "Final", "Exhumation", "Re-Finalization");
+    
+    public static final List<String> outputs = Arrays.asList(
+            "css", "scripts", "data", "assets", "specimens", "references", "vialRacks", "treeview",
+            "index.html", "main.html", "search.html", "navbar.html");
+    
+    public static final PageWeightAnalyzer.Budget defaultPageBudget = new PageWeightAnalyzer.Budget(512 * 1024, 120, 100 * 1024 * 1024, 8, 0);
+    
+    
+    //Fields
+    
+    private final File source;
+    
+    private final File sink;
+    
+    private File resources = new File("resources");
+    
+    private List<String> categories = defaultCategories;
+    
+    private boolean openLinksInternally = false;
+    
+    private boolean incrementalBuild = false;
+    
+    private boolean parallelBuild = false;
+    
+    private boolean writeIfChanged = false;
+    
+    private boolean deterministicBuild = false;
+    
+    private boolean watchMode = false;
+    
+    private long watchDebounceMillis = 500;
+    
+    private boolean previewMode = false;
+    
+    private int previewPort = 8080;
+    
+    private boolean archiveBuild = false;
+    
+    private boolean draftMode = false;
+    
+    private int draftFirstId = 0;
+    
+    private int draftLastId = Integer.MAX_VALUE;
+    
+    private String draftTaxon = "";
+    
+    private boolean draftFavoritesOnly = false;
+    
+    private int pipelineQueueCapacity = 16;
+    
+    private int uploadThreads = 4;
+    
+    private int renderThreads = Runtime.getRuntime().availableProcessors();
+    
+    private int shardCount = 1;
+    
+    private int shardIndex = -1;
+    
+    private File shardWorkDir = new File(Project.TMP_DIR, "shards");
+    
+    private boolean launchShardWorkers = true;
+    
+    private long shardTimeoutMillis = 60 * 60 * 1000;
+    
+    private boolean buildMetrics = false;
+    
+    private File metricsReport = new File("buildMetrics.json");
+    
+    private int metricsTopCount = 20;
+    
+    private boolean pageBudgets = false;
+    
+    private PageWeightAnalyzer.Budget pageBudget = defaultPageBudget;
+    
+    private File pageWeightReport = new File("pageWeightReport.json");
+    
+    private boolean minifyOutput = false;
+    
+    private boolean precompressOutput = false;
+    
+    
+    //Constructors
+    
+    public SiteConfig(File source, File sink) {
+        this.source = source;
+        this.sink = sink;
+    }
+    
+    
+    //Methods
+    
+    public void save(File file) throws IOException {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("source", source.getAbsolutePath());
+        data.put("sink", sink.getAbsolutePath());
+        data.put("resources", resources.getAbsolutePath());
+        data.put("categories", categories);
+        data.put("openLinksInternally", openLinksInternally);
+        data.put("incrementalBuild", incrementalBuild);
+        data.put("parallelBuild", parallelBuild);
+        data.put("writeIfChanged", writeIfChanged);
+        data.put("deterministicBuild", deterministicBuild);
+        data.put("watchMode", watchMode);
+        data.put("watchDebounceMillis", watchDebounceMillis);
+        data.put("previewMode", previewMode);
+        data.put("previewPort", previewPort);
+        data.put("archiveBuild", archiveBuild);
+        data.put("draftMode", draftMode);
+        data.put("draftFirstId", draftFirstId);
+        data.put("draftLastId", draftLastId);
+        data.put("draftTaxon", draftTaxon);
+        data.put("draftFavoritesOnly", draftFavoritesOnly);
+        data.put("pipelineQueueCapacity", pipelineQueueCapacity);
+        data.put("uploadThreads", uploadThreads);
+        data.put("renderThreads", renderThreads);
+        data.put("shardCount", shardCount);
+        data.put("shardIndex", shardIndex);
+        data.put("shardWorkDir", shardWorkDir.getAbsolutePath());
+        data.put("launchShardWorkers", launchShardWorkers);
+        data.put("shardTimeoutMillis", shardTimeoutMillis);
+        data.put("buildMetrics", buildMetrics);
+        data.put("metricsReport", metricsReport.getAbsolutePath());
+        data.put("metricsTopCount", metricsTopCount);
+        data.put("pageBudgets", pageBudgets);
+        data.put("pageBudget", pageBudget.toData());
+        data.put("pageWeightReport", pageWeightReport.getAbsolutePath());
+        data.put("minifyOutput", minifyOutput);
+        data.put("precompressOutput", precompressOutput);
+        
+        Filesystem.createDirectory(file.getParentFile());
+        Files.write(file.toPath(), JSONValue.toJSONString(data).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    
+    //Functions
+    
+    @SuppressWarnings("unchecked")
+    public static SiteConfig load(File file) throws IOException {
+        Map<String, Object> data = (Map<String, Object>) JSONValue.parse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        
+        SiteConfig config = new SiteConfig(new File((String) data.get("source")), new File((String) data.get("sink")));
+        config.resources = new File((String) data.get("resources"));
+        config.categories = (List<String>) data.get("categories");
+        config.openLinksInternally = (Boolean) data.get("openLinksInternally");
+        config.incrementalBuild = (Boolean) data.get("incrementalBuild");
+        config.parallelBuild = (Boolean) data.get("parallelBuild");
+        config.writeIfChanged = (Boolean) data.get("writeIfChanged");
+        config.deterministicBuild = (Boolean) data.get("deterministicBuild");
+        config.watchMode = (Boolean) data.get("watchMode");
+        config.watchDebounceMillis = ((Number) data.get("watchDebounceMillis")).longValue();
+        config.previewMode = (Boolean) data.get("previewMode");
+        config.previewPort = ((Number) data.get("previewPort")).intValue();
+        config.archiveBuild = (Boolean) data.get("archiveBuild");
+        config.draftMode = (Boolean) data.get("draftMode");
+        config.draftFirstId = ((Number) data.get("draftFirstId")).intValue();
+        config.draftLastId = ((Number) data.get("draftLastId")).intValue();
+        config.draftTaxon = (String) data.get("draftTaxon");
+        config.draftFavoritesOnly = (Boolean) data.get("draftFavoritesOnly");
+        config.pipelineQueueCapacity = ((Number) data.get("pipelineQueueCapacity")).intValue();
+        config.uploadThreads = ((Number) data.get("uploadThreads")).intValue();
+        config.renderThreads = ((Number) data.get("renderThreads")).intValue();
+        config.shardCount = ((Number) data.get("shardCount")).intValue();
+        config.shardIndex = ((Number) data.get("shardIndex")).intValue();
+        config.shardWorkDir = new File((String) data.get("shardWorkDir"));
+        config.launchShardWorkers = (Boolean) data.get("launchShardWorkers");
+        config.shardTimeoutMillis = ((Number) data.get("shardTimeoutMillis")).longValue();
+        config.buildMetrics = (Boolean) data.get("buildMetrics");
+        config.metricsReport = new File((String) data.get("metricsReport"));
+        config.metricsTopCount = ((Number) data.get("metricsTopCount")).intValue();
+        config.pageBudgets = (Boolean) data.get("pageBudgets");
+        config.pageBudget = PageWeightAnalyzer.Budget.fromData((List<Object>) data.get("pageBudget"));
+        config.pageWeightReport = new File((String) data.get("pageWeightReport"));
+        config.minifyOutput = (Boolean) data.get("minifyOutput");
+        config.precompressOutput = (Boolean) data.get("precompressOutput");
+        return config;
+    }
+    
+    
+    //Getters
+    
+    public File getSource() {
+        return source;
+    }
+    
+    public File getSpecimensSource() {
+        return new File(source, "Specimens");
+    }
+    
+    public File getReferencesSource() {
+        return new File(source, "References");
+    }
+    
+    public File getVialRacksSource() {
+        return new File(source, "Vial Racks");
+    }
+    
+    public File getSink() {
+        return sink;
+    }
+    
+    public File getDraftSink() {
+        return new File(sink.getParentFile(), sink.getName() + "-draft");
+    }
+    
+    public File getArchive() {
+        return new File(sink.getParentFile(), sink.getName() + ".zip");
+    }
+    
+    public File getResources() {
+        return resources;
+    }
+    
+    public List<String> getCategories() {
+        return categories;
+    }
+    
+    public boolean isOpenLinksInternally() {
+        return openLinksInternally;
+    }
+    
+    public boolean isIncrementalBuild() {
+        return incrementalBuild;
+    }
+    
+    public boolean isIncremental() {
+        return (incrementalBuild || watchMode) && !archiveBuild && !draftMode && (shardCount <= 1);
+    }
+    
+    public boolean isParallelBuild() {
+        return parallelBuild;
+    }
+    
+    public boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+    
+    public boolean isDeterministicBuild() {
+        return deterministicBuild;
+    }
+    
+    public boolean isWatchMode() {
+        return watchMode;
+    }
+    
+    public long getWatchDebounceMillis() {
+        return watchDebounceMillis;
+    }
+    
+    public boolean isPreviewMode() {
+        return previewMode;
+    }
+    
+    public int getPreviewPort() {
+        return previewPort;
+    }
+    
+    public boolean isArchiveBuild() {
+        return archiveBuild;
+    }
+    
+    public boolean isDraftMode() {
+        return draftMode;
+    }
+    
+    public int getDraftFirstId() {
+        return draftFirstId;
+    }
+    
+    public int getDraftLastId() {
+        return draftLastId;
+    }
+    
+    public String getDraftTaxon() {
+        return draftTaxon;
+    }
+    
+    public boolean isDraftFavoritesOnly() {
+        return draftFavoritesOnly;
+    }
+    
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+    
+    public int getUploadThreads() {
+        return uploadThreads;
+    }
+    
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+    
+    public int getShardCount() {
+        return shardCount;
+    }
+    
+    public int getShardIndex() {
+        return shardIndex;
+    }
+    
+    public boolean isShardWorker() {
+        return (shardIndex >= 0) && (shardCount > 1);
+    }
+    
+    public boolean isShardedBuild() {
+        return (shardCount > 1) && (shardIndex < 0) && !previewMode && !archiveBuild;
+    }
+    
+    public File getShardWorkDir() {
+        return shardWorkDir;
+    }
+    
+    public boolean isLaunchShardWorkers() {
+        return launchShardWorkers;
+    }
+    
+    public long getShardTimeoutMillis() {
+        return shardTimeoutMillis;
+    }
+    
+    public boolean isBuildMetrics() {
+        return buildMetrics;
+    }
+    
+    public File getMetricsReport() {
+        return metricsReport;
+    }
+    
+    public int getMetricsTopCount() {
+        return metricsTopCount;
+    }
+    
+    public boolean isPageBudgets() {
+        return pageBudgets;
+    }
+    
+    public PageWeightAnalyzer.Budget getPageBudget() {
+        return pageBudget;
+    }
+    
+    public File getPageWeightReport() {
+        return pageWeightReport;
+    }
+    
+    public boolean isMinifyOutput() {
+        return minifyOutput;
+    }
+    
+    public boolean isPrecompressOutput() {
+        return precompressOutput;
+    }
+    
+    
+    //Setters
+    
+    public void setResources(File resources) {
+        this.resources = resources;
+    }
+    
+    public void setCategories(List<String> categories) {
+        this.categories = categories;
+    }
+    
+    public void setOpenLinksInternally(boolean openLinksInternally) {
+        this.openLinksInternally = openLinksInternally;
+    }
+    
+    public void setIncrementalBuild(boolean incrementalBuild) {
+        this.incrementalBuild = incrementalBuild;
+    }
+    
+    public void setParallelBuild(boolean parallelBuild) {
+        this.parallelBuild = parallelBuild;
+    }
+    
+    public void setWriteIfChanged(boolean writeIfChanged) {
+        this.writeIfChanged = writeIfChanged;
+    }
+    
+    public void setDeterministicBuild(boolean deterministicBuild) {
+        this.deterministicBuild = deterministicBuild;
+    }
+    
+    public void setWatchMode(boolean watchMode) {
+        this.watchMode = watchMode;
+    }
+    
+    public void setWatchDebounceMillis(long watchDebounceMillis) {
+        this.watchDebounceMillis = watchDebounceMillis;
+    }
+    
+    public void setPreviewMode(boolean previewMode) {
+        this.previewMode = previewMode;
+    }
+    
+    public void setPreviewPort(int previewPort) {
+        this.previewPort = previewPort;
+    }
+    
+    public void setArchiveBuild(boolean archiveBuild) {
+        this.archiveBuild = archiveBuild;
+    }
+    
+    public void setDraftMode(boolean draftMode) {
+        this.draftMode = draftMode;
+    }
+    
+    public void setDraftIdRange(int draftFirstId, int draftLastId) {
+        this.draftFirstId = draftFirstId;
+        this.draftLastId = draftLastId;
+    }
+    
+    public void setDraftTaxon(String draftTaxon) {
+        this.draftTaxon = draftTaxon;
+    }
+    
+    public void setDraftFavoritesOnly(boolean draftFavoritesOnly) {
+        this.draftFavoritesOnly = draftFavoritesOnly;
+    }
+    
+    public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+    }
+    
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+    
+    public void setRenderThreads(int renderThreads) {
+        this.renderThreads = renderThreads;
+    }
+    
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+    
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+    
+    public void setShardWorkDir(File shardWorkDir) {
+        this.shardWorkDir = shardWorkDir;
+    }
+    
+    public void setLaunchShardWorkers(boolean launchShardWorkers) {
+        this.launchShardWorkers = launchShardWorkers;
+    }
+    
+    public void setShardTimeoutMillis(long shardTimeoutMillis) {
+        this.shardTimeoutMillis = shardTimeoutMillis;
+    }
+    
+    public void setBuildMetrics(boolean buildMetrics) {
+        this.buildMetrics = buildMetrics;
+    }
+    
+    public void setMetricsReport(File metricsReport) {
+        this.metricsReport = metricsReport;
+    }
+    
+    public void setMetricsTopCount(int metricsTopCount) {
+        this.metricsTopCount = metricsTopCount;
+    }
+    
+    public void setPageBudgets(boolean pageBudgets) {
+        this.pageBudgets = pageBudgets;
+    }
+    
+    public void setPageBudget(PageWeightAnalyzer.Budget pageBudget) {
+        this.pageBudget = pageBudget;
+    }
+    
+    public void setPageWeightReport(File pageWeightReport) {
+        this.pageWeightReport = pageWeightReport;
+    }
+    
+    public void setMinifyOutput(boolean minifyOutput) {
+        this.minifyOutput = minifyOutput;
+    }
+    
+    public void setPrecompressOutput(boolean precompressOutput) {
+        this.precompressOutput = precompressOutput;
+    }
+    
+}
@@ -0,0 +1,49 @@
+/*
+ * File:    AnalyzePageWeight.java
+ * Package: tool
+ * Author:  Zachary Gill
+ */
+
+package tool;
+
+import java.io.File;
+import java.util.List;
+
+import main.SiteConfig;
+import main.SpecimensWebsiteGenerator;
+import utility.PageWeightAnalyzer;
+import utility.ResourceUtility;
+
+public class AnalyzePageWeight {
+    
+    //Constants
+    
+    private static final File report = new File("pageWeightReport.json");
+    
+    private static final int topCount = 10;
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) throws Exception {
+        long start = System.currentTimeMillis();
+        
+        ResourceUtility resources = new ResourceUtility();
+        resources.loadResources();
+        
+        PageWeightAnalyzer analyzer = new PageWeightAnalyzer(SpecimensWebsiteGenerator.sink, SpecimensWebsiteGenerator.specimensSource,
+                resources.getImageReferences(), SiteConfig.defaultPageBudget);
+        List<PageWeightAnalyzer.PageWeight> weights = analyzer.analyze();
+        PageWeightAnalyzer.writeReport(report, weights);
+        
+        weights.stream().limit(topCount).forEach(e -> System.out.println(e.getPath() + ": " + e.getTotalBytes() + " bytes"));
+        List<PageWeightAnalyzer.PageWeight> violations = PageWeightAnalyzer.getViolations(weights);
+        violations.forEach(e -> System.out.println("Budget exceeded: " + e.getPath() + " " + e.getViolations()));
+        System.out.println("Analyzed " + weights.size() + " pages in " + (System.currentTimeMillis() - start) + " ms: " +
+                violations.size() + " over budget");
+        if (!violations.isEmpty()) {
+            System.exit(1);
+        }
+    }
+    
+}
@@ -18,8 +18,9 @@ public class CheckForDuplicatePhotoNames {
     //Main Method
     
     public static void main(String[] args) throws Exception {
-        ResourceUtility.loadResources();
-        Map<String, String> imageReferences = ResourceUtility.getImageReferences();
+        ResourceUtility resources = new ResourceUtility();
+        resources.loadResources();
+        Map<String, String> imageReferences = resources.getImageReferences();
         
         Map<String, List<String>> photoNameMap = new HashMap<>();
         for (String imageReference : imageReferences.keySet()) {
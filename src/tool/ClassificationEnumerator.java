@@ -13,9 +13,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import commons.access.Filesystem;
 import commons.string.StringUtility;
 import main.SpecimensWebsiteGenerator;
+import utility.Specimen;
+import utility.SpecimenCatalog;
 
 public class ClassificationEnumerator {
     
@@ -25,20 +26,22 @@ public class ClassificationEnumerator {
     public static void main(String[] args) throws Exception {
         Map<String, List<String>> classifications = new HashMap<>();
         
-        for (File specimen : Filesystem.getDirs(SpecimensWebsiteGenerator.specimensSource)) {
-            File idFile = new File(specimen, "id.txt");
-            if (!idFile.exists()) {
-                System.err.println("Id not found: " + idFile.getAbsolutePath());
+        SpecimenCatalog catalog = new SpecimenCatalog();
+        catalog.loadCatalog();
+        for (Specimen specimen : catalog.getSpecimens(SpecimensWebsiteGenerator.specimensSource)) {
+            if (!specimen.isIdPresent()) {
+                System.err.println("Id not found: " + new File(specimen.getDirectory(), "id.txt").getAbsolutePath());
                 continue;
             }
             
-            List<String> lines = Filesystem.readLines(idFile);
-            if (!lines.get(1).isEmpty() && !lines.get(1).matches("\\d.*")) {
-                String classification = lines.get(1);
+            List<Specimen.IdLine> lines = specimen.getIdLines();
+            if ((lines.size() > 1) && !lines.get(1).getText().isEmpty() && !lines.get(1).getText().matches("\\d.*")) {
+                String classification = lines.get(1).getText();
                 classifications.putIfAbsent(classification, new ArrayList<>());
                 classifications.get(classification).add(StringUtility.lSnip(specimen.getName(), 4));
             }
         }
+        catalog.saveCatalog();
         
         classifications.entrySet().stream().sorted(Comparator.comparingInt(o -> -o.getValue().size())).forEachOrdered(e ->
                 System.out.println(e.getKey() + " (" + e.getValue().size() + ')'));
@@ -27,6 +27,8 @@ public class CropAllImagesFromCategoryHelper {
     
     private static int stage = 0; //0 for preparation, 1 for re-upload
     
+    private static final ResourceUtility resources = new ResourceUtility();
+    
     private static List<String> categories = Arrays.asList(
             "Preparation", "Suspension", "Pre-Finalization",
             "Final", "Re-Finalization");
@@ -35,7 +37,7 @@ public class CropAllImagesFromCategoryHelper {
     //Main Method
     
     public static void main(String[] args) throws Exception {
-        ResourceUtility.loadResources();
+        resources.loadResources();
         
         if (stage == 0) {
             prepForCropping();
@@ -48,7 +50,7 @@ public class CropAllImagesFromCategoryHelper {
     //Functions
     
     private static void prepForCropping() {
-        Map<String, String> imageReferences = ResourceUtility.getImageReferences();
+        Map<String, String> imageReferences = resources.getImageReferences();
         
         Filesystem.clearDirectory(work);
         for (String category : categories) {
@@ -70,7 +72,7 @@ public class CropAllImagesFromCategoryHelper {
     }
     
     private static void reupload() {
-        Map<String, String> imageReferences = ResourceUtility.getImageReferences();
+        Map<String, String> imageReferences = resources.getImageReferences();
         
         List<File> photos = Filesystem.getFiles(work);
         for (File photo : photos) {
@@ -107,7 +109,7 @@ public class CropAllImagesFromCategoryHelper {
             Filesystem.moveFile(photo, originalFile, true);
             imageReferences.replace(original, url);
             try {
-                ResourceUtility.saveResources();
+                resources.saveResources();
             } catch (Exception e) {
                 System.err.println("Failed to save image reference: " + original + "," + url);
             }
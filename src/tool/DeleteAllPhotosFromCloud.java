@@ -17,8 +17,9 @@ public class DeleteAllPhotosFromCloud {
     //Main Method
     
     public static void main(String[] args) throws Exception {
-        ResourceUtility.loadResources();
-        Map<String, String> imageReferences = ResourceUtility.getImageReferences();
+        ResourceUtility resources = new ResourceUtility();
+        resources.loadResources();
+        Map<String, String> imageReferences = resources.getImageReferences();
         
         for (String imageFile : new ArrayList<>(imageReferences.keySet())) {
             String imageUrl = imageReferences.get(imageFile);
@@ -32,7 +33,7 @@ public class DeleteAllPhotosFromCloud {
             
             imageReferences.remove(imageFile);
             try {
-                ResourceUtility.saveResources();
+                resources.saveResources();
             } catch (Exception e) {
                 System.err.println("Failed to remove image reference: " + imageFile + "," + imageUrl);
             }
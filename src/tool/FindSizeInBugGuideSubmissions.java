@@ -6,15 +6,14 @@
 
 package tool;
 
-import java.io.File;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import commons.access.Filesystem;
 import commons.access.Internet;
 import main.SpecimensWebsiteGenerator;
 import org.jsoup.nodes.Document;
-import utility.ResourceUtility;
+import utility.Specimen;
+import utility.SpecimenCatalog;
 
 public class FindSizeInBugGuideSubmissions {
     
@@ -22,20 +21,22 @@ public class FindSizeInBugGuideSubmissions {
     
     public static void main(String[] args) throws Exception {
         Pattern sizePattern = Pattern.compile(".*>Size:\\s(?<size>[0-9.]+mm)\\s*<.*");
-        for (File specimenDir : Filesystem.getDirs(SpecimensWebsiteGenerator.source)) {
-            File bugGuideSubmission = new File(specimenDir, "BugGuide Submission.url");
-            if (bugGuideSubmission.exists()) {
-                String url = ResourceUtility.getUrlFromShortcut(bugGuideSubmission);
+        SpecimenCatalog catalog = new SpecimenCatalog();
+        catalog.loadCatalog();
+        for (Specimen specimen : catalog.getSpecimens(SpecimensWebsiteGenerator.specimensSource)) {
+            String url = specimen.getBugGuideUrl();
+            if (url != null) {
                 Document doc = Internet.getHtml(url);
                 if (doc != null) {
                     Matcher sizeMatcher = sizePattern.matcher(doc.toString().replaceAll("\r?\n", ""));
                     if (sizeMatcher.matches()) {
                         String size = sizeMatcher.group("size");
-                        System.out.println(specimenDir.getName() + " : " + size);
+                        System.out.println(specimen.getName() + " : " + size);
                     }
                 }
             }
         }
+        catalog.saveCatalog();
     }
     
 }
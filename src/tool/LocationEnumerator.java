@@ -13,9 +13,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import commons.access.Filesystem;
 import commons.string.StringUtility;
 import main.SpecimensWebsiteGenerator;
+import utility.Specimen;
+import utility.SpecimenCatalog;
 
 public class LocationEnumerator {
     
@@ -25,21 +26,23 @@ public class LocationEnumerator {
     public static void main(String[] args) throws Exception {
         Map<String, List<String>> locations = new HashMap<>();
         
-        for (File specimen : Filesystem.getDirs(SpecimensWebsiteGenerator.specimensSource)) {
-            File idFile = new File(specimen, "id.txt");
-            if (!idFile.exists()) {
-                System.err.println("Id not found: " + idFile.getAbsolutePath());
+        SpecimenCatalog catalog = new SpecimenCatalog();
+        catalog.loadCatalog();
+        for (Specimen specimen : catalog.getSpecimens(SpecimensWebsiteGenerator.specimensSource)) {
+            if (!specimen.isIdPresent()) {
+                System.err.println("Id not found: " + new File(specimen.getDirectory(), "id.txt").getAbsolutePath());
                 continue;
             }
             
-            List<String> lines = Filesystem.readLines(idFile);
-            if (lines.stream().filter(String::isEmpty).count() < 2) {
+            List<Specimen.IdLine> lines = specimen.getIdLines();
+            if (lines.stream().filter(e -> e.getText().isEmpty()).count() < 2) {
                 continue;
             }
             
             boolean inLocation = false;
             List<String> location = new ArrayList<>();
-            for (String line : lines) {
+            for (Specimen.IdLine idLine : lines) {
+                String line = idLine.getText();
                 if (line.isEmpty()) {
                     if (inLocation) {
                         break;
@@ -64,6 +67,7 @@ public class LocationEnumerator {
             }
             System.out.println();
         }
+        catalog.saveCatalog();
         
         locations.entrySet().stream().sorted(Comparator.comparingInt(o -> -o.getValue().size())).forEachOrdered(e -> {
             System.out.println(e.getKey() + " (" + e.getValue().size() + ')');
@@ -11,6 +11,7 @@ import java.util.List;
 
 import commons.access.Filesystem;
 import main.SpecimensWebsiteGenerator;
+import utility.SpecimenCatalog;
 
 public class SpecimenInfoRewriter {
     
@@ -20,7 +21,9 @@ public class SpecimenInfoRewriter {
     public static void main(String[] args) throws Exception {
         final List<String> infoFiles = List.of("id.txt", "taxonomy.txt");
         
-        for (File specimen : Filesystem.getDirs(SpecimensWebsiteGenerator.specimensSource)) {
+        SpecimenCatalog catalog = new SpecimenCatalog();
+        catalog.loadCatalog();
+        for (File specimen : catalog.getSpecimenDirs(SpecimensWebsiteGenerator.specimensSource)) {
             for (String infoFileName : infoFiles) {
                 File infoFile = new File(specimen, infoFileName);
                 if (!infoFile.exists()) {
@@ -48,6 +51,7 @@ public class SpecimenInfoRewriter {
                 }
             }
         }
+        catalog.saveCatalog();
     }
     
 }
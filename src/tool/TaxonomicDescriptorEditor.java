@@ -11,6 +11,8 @@ import java.util.List;
 
 import commons.access.Filesystem;
 import main.SpecimensWebsiteGenerator;
+import utility.Specimen;
+import utility.SpecimenCatalog;
 
 public class TaxonomicDescriptorEditor {
     
@@ -27,12 +29,17 @@ public class TaxonomicDescriptorEditor {
         String replaceFrom = ' ' + taxon + " (" + oldDescriptor + ')';
         String replaceTo = ' ' + taxon + " (" + newDescriptor + ')';
         
-        for (File specimen : Filesystem.getDirs(SpecimensWebsiteGenerator.specimensSource)) {
-            File taxonomy = new File(specimen, "taxonomy.txt");
-            if (!taxonomy.exists()) {
+        SpecimenCatalog catalog = new SpecimenCatalog();
+        catalog.loadCatalog();
+        for (Specimen specimen : catalog.getSpecimens(SpecimensWebsiteGenerator.specimensSource)) {
+            File taxonomy = new File(specimen.getDirectory(), "taxonomy.txt");
+            if (!specimen.isTaxonomyPresent()) {
                 System.err.println("Taxonomy not found: " + taxonomy.getAbsolutePath());
                 continue;
             }
+            if (specimen.getTaxonomy().stream().noneMatch(e -> e.getLine().contains(replaceFrom))) {
+                continue;
+            }
             
             boolean edited = false;
             List<String> lines = Filesystem.readLines(taxonomy);
@@ -48,6 +55,7 @@ public class TaxonomicDescriptorEditor {
                 System.out.println("Updated taxonomic descriptor for: " + taxonomy.getAbsolutePath());
             }
         }
+        catalog.saveCatalog();
     }
     
 }
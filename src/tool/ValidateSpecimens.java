@@ -0,0 +1,82 @@
+/*
+ * File:    ValidateSpecimens.java
+ * Package: tool
+ * Author:  Zachary Gill
+ */
+
+package tool;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import main.SiteConfig;
+import main.SpecimensWebsiteGenerator;
+import org.json.simple.JSONValue;
+import utility.Specimen;
+import utility.SpecimenIds;
+import utility.SpecimenParser;
+import utility.SpecimenValidator;
+
+public class ValidateSpecimens {
+    
+    //Constants
+    
+    private static final File report = new File("validationReport.json");
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) throws Exception {
+        long start = System.currentTimeMillis();
+        
+        SiteConfig config = (args.length > 0) ? SiteConfig.load(new File(args[0])) : new SiteConfig(SpecimensWebsiteGenerator.source, SpecimensWebsiteGenerator.sink);
+        List<String> categories = config.getCategories();
+        
+        List<File> specimenDirs = SpecimenIds.getSpecimenDirs(config.getSpecimensSource());
+        List<Specimen> specimens = specimenDirs.parallelStream()
+                .map(SpecimenParser::parse)
+                .collect(Collectors.toList());
+        List<SpecimenValidator.Finding> findings = specimens.parallelStream()
+                .flatMap(e -> SpecimenValidator.validateSpecimen(e, categories).stream())
+                .collect(Collectors.toList());
+        findings.addAll(SpecimenValidator.validateTaxonomyDescriptions(specimens));
+        
+        Map<String, Integer> ruleCounts = new LinkedHashMap<>();
+        SpecimenValidator.rules.forEach(e -> ruleCounts.put(e, 0));
+        findings.forEach(e -> ruleCounts.merge(e.getRule(), 1, Integer::sum));
+        int errors = (int) findings.stream().filter(e -> !e.isWarning()).count();
+        
+        Map<String, Object> reportData = new LinkedHashMap<>();
+        reportData.put("specimens", specimens.size());
+        reportData.put("errors", errors);
+        reportData.put("warnings", findings.size() - errors);
+        reportData.put("rules", ruleCounts);
+        reportData.put("findings", findings.stream().map(ValidateSpecimens::makeFinding).collect(Collectors.toList()));
+        Files.write(report.toPath(), JSONValue.toJSONString(reportData).getBytes(StandardCharsets.UTF_8));
+        
+        ruleCounts.forEach((rule, count) -> System.out.println(rule + ": " + count));
+        System.out.println("Validated " + specimens.size() + " specimens in " + (System.currentTimeMillis() - start) + " ms: " +
+                errors + " errors, " + (findings.size() - errors) + " warnings");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+    
+    
+    //Functions
+    
+    private static Map<String, String> makeFinding(SpecimenValidator.Finding finding) {
+        Map<String, String> findingData = new LinkedHashMap<>();
+        findingData.put("rule", finding.getRule());
+        findingData.put("specimen", finding.getSpecimen());
+        findingData.put("message", finding.getMessage());
+        return findingData;
+    }
+    
+}
+
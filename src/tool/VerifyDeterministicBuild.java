@@ -0,0 +1,89 @@
+/*
+ * File:    VerifyDeterministicBuild.java
+ * Package: tool
+ * Author:  Zachary Gill
+ */
+
+package tool;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import main.SiteConfig;
+import main.SpecimensWebsiteGenerator;
+import utility.OutputUtility;
+
+public class VerifyDeterministicBuild {
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) throws Exception {
+        File configFile = (args.length > 0) ? new File(args[0]) : null;
+        if (verify(configFile) > 0) {
+            System.exit(1);
+        }
+    }
+    
+    
+    //Functions
+    
+    public static int verify(File configFile) throws Exception {
+        File sink = SpecimensWebsiteGenerator.sink;
+        if (configFile != null) {
+            SiteConfig config = SiteConfig.load(configFile);
+            sink = config.isDraftMode() ? config.getDraftSink() : config.getSink();
+        }
+        
+        Map<String, String> firstBuild = build(configFile, sink);
+        Map<String, String> secondBuild = build(configFile, sink);
+        
+        Set<String> outputFiles = new TreeSet<>(firstBuild.keySet());
+        outputFiles.addAll(secondBuild.keySet());
+        int differences = 0;
+        for (String outputFile : outputFiles) {
+            String firstDigest = firstBuild.get(outputFile);
+            String secondDigest = secondBuild.get(outputFile);
+            if (firstDigest == null) {
+                System.err.println("Only in second build: " + outputFile);
+            } else if (secondDigest == null) {
+                System.err.println("Only in first build: " + outputFile);
+            } else if (!firstDigest.equals(secondDigest)) {
+                System.err.println("Differs: " + outputFile);
+            } else {
+                continue;
+            }
+            differences++;
+        }
+        
+        if (differences > 0) {
+            System.err.println(differences + " of " + outputFiles.size() + " output files differ between builds");
+        } else {
+            System.out.println("Builds are byte-identical: " + outputFiles.size() + " output files");
+        }
+        return differences;
+    }
+    
+    private static Map<String, String> build(File configFile, File sink) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                new File(System.getProperty("java.home"), "bin/java").getAbsolutePath(),
+                "-cp", System.getProperty("java.class.path"),
+                SpecimensWebsiteGenerator.class.getName()));
+        if (configFile != null) {
+            command.add(configFile.getAbsolutePath());
+        }
+        
+        Process generator = new ProcessBuilder(command)
+                .inheritIO()
+                .start();
+        if (generator.waitFor() != 0) {
+            throw new IllegalStateException("Build failed with exit code: " + generator.exitValue());
+        }
+        return OutputUtility.digestOutputs(sink, SiteConfig.outputs);
+    }
+    
+}
@@ -17,8 +17,9 @@ public class VerifyPhotosExist {
     //Main Method
     
     public static void main(String[] args) throws Exception {
-        ResourceUtility.loadResources();
-        Map<String, String> imageReferences = ResourceUtility.getImageReferences();
+        ResourceUtility resources = new ResourceUtility();
+        resources.loadResources();
+        Map<String, String> imageReferences = resources.getImageReferences();
         
         for (String imageReference : imageReferences.keySet()) {
             File image = new File(SpecimensWebsiteGenerator.specimensSource, imageReference);
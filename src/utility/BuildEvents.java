@@ -0,0 +1,122 @@
+/*
+ * File:    BuildEvents.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+public class BuildEvents {
+    
+    //Inner Classes
+    
+    @Name("specimens.SpecimenRender")
+    @Label("Specimen Render")
+    @Category({"Specimens", "Generator"})
+    public static class SpecimenRender extends Event {
+        
+        @Label("Specimen Id")
+        public String specimenId;
+        
+        @Label("Photo Count")
+        public int photoCount;
+        
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+        
+    }
+    
+    @Name("specimens.ImageLink")
+    @Label("Image Link Resolution")
+    @Category({"Specimens", "Media"})
+    public static class ImageLink extends Event {
+        
+        @Label("Image Key")
+        public String imageKey;
+        
+        @Label("Cache Hit")
+        public boolean cacheHit;
+        
+        @Label("Full Copy")
+        public boolean fullCopy;
+        
+    }
+    
+    @Name("specimens.CloudinaryUpload")
+    @Label("Cloudinary Upload")
+    @Category({"Specimens", "Media"})
+    public static class CloudinaryUpload extends Event {
+        
+        @Label("File")
+        public String file;
+        
+        @Label("Folder")
+        public String folder;
+        
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+        
+        @Label("Success")
+        public boolean success;
+        
+    }
+    
+    @Name("specimens.CloudinaryDelete")
+    @Label("Cloudinary Delete")
+    @Category({"Specimens", "Media"})
+    public static class CloudinaryDelete extends Event {
+        
+        @Label("Public Id")
+        public String publicId;
+        
+        @Label("Success")
+        public boolean success;
+        
+    }
+    
+    @Name("specimens.ResourceSave")
+    @Label("Resource Save")
+    @Category({"Specimens", "Resources"})
+    public static class ResourceSave extends Event {
+        
+        @Label("Image References")
+        public int imageReferences;
+        
+        @Label("Vial Rack References")
+        public int vialRackReferences;
+        
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+        
+    }
+    
+    @Name("specimens.FilesystemOperation")
+    @Label("Filesystem Operation")
+    @Category({"Specimens", "Filesystem"})
+    public static class FilesystemOperation extends Event {
+        
+        @Label("Operation")
+        public String operation;
+        
+        @Label("Path")
+        public String path;
+        
+        @Label("Files")
+        public int files;
+        
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+        
+    }
+    
+}
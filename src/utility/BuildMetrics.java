@@ -0,0 +1,189 @@
+/*
+ * File:    BuildMetrics.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import org.json.simple.JSONValue;
+
+public class BuildMetrics {
+    
+    //Fields
+    
+    private final OutputUtility output;
+    
+    private final List<Phase> phases = new ArrayList<>();
+    
+    private final Queue<SpecimenTiming> specimenTimings = new ConcurrentLinkedQueue<>();
+    
+    private final long startWall = System.nanoTime();
+    
+    private final long startCpu = getCpuTime();
+    
+    private final long startBytes;
+    
+    private final long startFiles;
+    
+    
+    //Constructors
+    
+    public BuildMetrics(OutputUtility output) {
+        this.output = output;
+        this.startBytes = output.getBytesWritten();
+        this.startFiles = output.getFilesWritten();
+    }
+    
+    
+    //Methods
+    
+    public void measure(String name, PhaseBody body) throws Exception {
+        Phase phase = new Phase(name);
+        long wall = System.nanoTime();
+        long cpu = getCpuTime();
+        long bytes = output.getBytesWritten();
+        long files = output.getFilesWritten();
+        try {
+            body.run();
+        } finally {
+            phase.wallNanos = System.nanoTime() - wall;
+            phase.cpuNanos = getCpuTime() - cpu;
+            phase.bytesWritten = output.getBytesWritten() - bytes;
+            phase.filesWritten = output.getFilesWritten() - files;
+            synchronized (phases) {
+                phases.add(phase);
+            }
+        }
+    }
+    
+    public void recordSpecimen(String id, long parseNanos, long mediaNanos, long renderNanos) {
+        specimenTimings.add(new SpecimenTiming(id, parseNanos, mediaNanos, renderNanos));
+    }
+    
+    public void writeReport(File report, int topCount) throws IOException {
+        Map<String, Object> reportData = new LinkedHashMap<>();
+        reportData.put("wallMillis", toMillis(System.nanoTime() - startWall));
+        reportData.put("cpuMillis", toMillis(getCpuTime() - startCpu));
+        reportData.put("bytesWritten", output.getBytesWritten() - startBytes);
+        reportData.put("filesWritten", output.getFilesWritten() - startFiles);
+        
+        List<Map<String, Object>> phaseData = new ArrayList<>();
+        synchronized (phases) {
+            for (Phase phase : phases) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("phase", phase.name);
+                entry.put("wallMillis", toMillis(phase.wallNanos));
+                entry.put("cpuMillis", toMillis(phase.cpuNanos));
+                entry.put("bytesWritten", phase.bytesWritten);
+                entry.put("filesWritten", phase.filesWritten);
+                phaseData.add(entry);
+            }
+        }
+        reportData.put("phases", phaseData);
+        
+        Map<String, Object> specimenData = new LinkedHashMap<>();
+        specimenData.put("count", specimenTimings.size());
+        specimenData.put("parseMillis", toMillis(specimenTimings.stream().mapToLong(e -> e.parseNanos).sum()));
+        specimenData.put("mediaMillis", toMillis(specimenTimings.stream().mapToLong(e -> e.mediaNanos).sum()));
+        specimenData.put("renderMillis", toMillis(specimenTimings.stream().mapToLong(e -> e.renderNanos).sum()));
+        reportData.put("specimens", specimenData);
+        
+        reportData.put("slowestSpecimens", specimenTimings.stream()
+                .sorted(Comparator.comparingLong(SpecimenTiming::getTotalNanos).reversed())
+                .limit(topCount)
+                .map(e -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("id", e.id);
+                    entry.put("totalMillis", toMillis(e.getTotalNanos()));
+                    entry.put("parseMillis", toMillis(e.parseNanos));
+                    entry.put("mediaMillis", toMillis(e.mediaNanos));
+                    entry.put("renderMillis", toMillis(e.renderNanos));
+                    return entry;
+                })
+                .collect(Collectors.toList()));
+        
+        Files.write(report.toPath(), JSONValue.toJSONString(reportData).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    
+    //Functions
+    
+    private static long getCpuTime() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+    }
+    
+    private static double toMillis(long nanos) {
+        return (nanos / 1000L) / 1000.0;
+    }
+    
+    
+    //Inner Classes
+    
+    public interface PhaseBody {
+        
+        void run() throws Exception;
+        
+    }
+    
+    private static class Phase {
+        
+        final String name;
+        
+        long wallNanos;
+        
+        long cpuNanos;
+        
+        long bytesWritten;
+        
+        long filesWritten;
+        
+        Phase(String name) {
+            this.name = name;
+        }
+        
+    }
+    
+    private static class SpecimenTiming {
+        
+        final String id;
+        
+        final long parseNanos;
+        
+        final long mediaNanos;
+        
+        final long renderNanos;
+        
+        SpecimenTiming(String id, long parseNanos, long mediaNanos, long renderNanos) {
+            this.id = id;
+            this.parseNanos = parseNanos;
+            this.mediaNanos = mediaNanos;
+            this.renderNanos = renderNanos;
+        }
+        
+        long getTotalNanos() {
+            return parseNanos + mediaNanos + renderNanos;
+        }
+        
+    }
+    
+}
@@ -19,6 +19,11 @@ import org.apache.commons.io.FileUtils;
 
 public class CloudinaryUtility {
     
+    //Constants
+    
+    public static final String uploadPrefixProperty = "cloudinary.uploadPrefix";
+    
+    
     //Static Fields
     
     private static List<String> API_KEY = new ArrayList<>();
@@ -44,10 +49,14 @@ public class CloudinaryUtility {
     
     public static void initialize() {
         if (initialized.compareAndSet(false, true)) {
-            cloudinary = new Cloudinary(ObjectUtils.asMap(
-                    "cloud_name", API_KEY.get(0),
-                    "api_key", API_KEY.get(1),
-                    "api_secret", API_KEY.get(2)));
+            Map<String, Object> config = new HashMap<>();
+            config.put("cloud_name", API_KEY.get(0));
+            config.put("api_key", API_KEY.get(1));
+            config.put("api_secret", API_KEY.get(2));
+            if (System.getProperty(uploadPrefixProperty) != null) {
+                config.put("upload_prefix", System.getProperty(uploadPrefixProperty));
+            }
+            cloudinary = new Cloudinary(config);
         }
     }
     
@@ -55,6 +64,8 @@ public class CloudinaryUtility {
     public static String upload(File file, String folder) throws Exception {
         boolean isVideo = file.getName().toLowerCase().endsWith(".mp4");
         
+        BuildEvents.CloudinaryUpload event = new BuildEvents.CloudinaryUpload();
+        event.begin();
         String url;
         try {
             Map<String, Object> options = new HashMap<>();
@@ -69,9 +80,17 @@ public class CloudinaryUtility {
             url = (String) upload.get("url");
             
             System.out.println("Uploaded: " + file.getAbsolutePath());
+            event.success = true;
         } catch (Exception e) {
             System.out.println("Error uploading: " + file.getAbsolutePath());
             throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.file = file.getAbsolutePath();
+                event.folder = folder;
+                event.bytes = file.length();
+                event.commit();
+            }
         }
         return url;
     }
@@ -81,12 +100,18 @@ public class CloudinaryUtility {
     }
     
     public static void delete(String publicId) throws Exception {
+        BuildEvents.CloudinaryDelete event = new BuildEvents.CloudinaryDelete();
+        event.begin();
         try {
             cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
             System.out.println("Deleted: " + publicId);
+            event.success = true;
         } catch (Exception e) {
             System.err.println("Error deleting: " + publicId);
             throw e;
+        } finally {
+            event.publicId = publicId;
+            event.commit();
         }
     }
     
@@ -0,0 +1,138 @@
+/*
+ * File:    ManifestUtility.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import commons.access.Filesystem;
+import org.apache.commons.codec.digest.DigestUtils;
+
+public class ManifestUtility {
+    
+    //Constants
+    
+    private static final String globalKey = "global";
+    
+    private static final int pageVersion = 4;
+    
+    
+    //Fields
+    
+    private final File manifestFile;
+    
+    private final ResourceUtility resources;
+    
+    private final Map<String, ManifestEntry> previousManifest = new LinkedHashMap<>();
+    
+    private final Map<String, ManifestEntry> manifest = new LinkedHashMap<>();
+    
+    private final StringBuilder globalInputs = new StringBuilder();
+    
+    
+    //Constructors
+    
+    public ManifestUtility(File resourcesDir, ResourceUtility resources) {
+        this.manifestFile = new File(resourcesDir, "buildManifest.csv");
+        this.resources = resources;
+    }
+    
+    
+    //Methods
+    
+    public void loadManifest() {
+        previousManifest.clear();
+        manifest.clear();
+        globalInputs.setLength(0);
+        
+        if (!manifestFile.exists()) {
+            return;
+        }
+        for (String manifestLine : Filesystem.readLines(manifestFile)) {
+            String[] manifestLineParts = manifestLine.split(",");
+            if (manifestLineParts.length != 4) {
+                continue;
+            }
+            previousManifest.put(manifestLineParts[0], new ManifestEntry(manifestLineParts[1],
+                    Integer.parseInt(manifestLineParts[2]), Boolean.parseBoolean(manifestLineParts[3])));
+        }
+    }
+    
+    public void saveManifest() {
+        manifest.put(globalKey, new ManifestEntry(getGlobalFingerprint(), 0, false));
+        
+        List<String> manifestData = new ArrayList<>();
+        manifest.forEach((key, entry) -> manifestData.add(key + "," + entry.fingerprint + "," + entry.photoCount + "," + entry.finalized));
+        Filesystem.writeLines(manifestFile, manifestData);
+    }
+    
+    public String fingerprintSpecimen(File specimenDir, String previousId, String nextId) {
+        StringBuilder inputs = new StringBuilder();
+        inputs.append(pageVersion).append('|').append(specimenDir.getName()).append('|').append(previousId).append('|').append(nextId).append('\n');
+        
+        List<File> inputFiles = SortedTraversal.getFilesRecursively(specimenDir);
+        for (File inputFile : inputFiles) {
+            String imageKey = ResourceUtility.getImageKey(inputFile);
+            inputs.append(imageKey).append('|')
+                    .append(inputFile.length()).append('|')
+                    .append(inputFile.lastModified()).append('|')
+                    .append(resources.getImageReferences().getOrDefault(imageKey, "")).append('\n');
+        }
+        
+        return DigestUtils.md5Hex(inputs.toString());
+    }
+    
+    public ManifestEntry getEntry(String id) {
+        return previousManifest.get(id);
+    }
+    
+    public ManifestEntry getUnchangedEntry(String id, String fingerprint) {
+        ManifestEntry previousEntry = previousManifest.get(id);
+        return ((previousEntry != null) && previousEntry.fingerprint.equals(fingerprint)) ? previousEntry : null;
+    }
+    
+    public void putEntry(String id, String fingerprint, int photoCount, boolean finalized) {
+        manifest.put(id, new ManifestEntry(fingerprint, photoCount, finalized));
+    }
+    
+    public void addGlobalInput(String id, String name, boolean favorite, List<String> taxonomyLines) {
+        globalInputs.append(id).append('|').append(name).append('|').append(favorite).append('\n');
+        taxonomyLines.forEach(taxonomyLine -> globalInputs.append('\t').append(taxonomyLine).append('\n'));
+    }
+    
+    public boolean isGlobalUnchanged() {
+        ManifestEntry previousEntry = previousManifest.get(globalKey);
+        return (previousEntry != null) && previousEntry.fingerprint.equals(getGlobalFingerprint());
+    }
+    
+    private String getGlobalFingerprint() {
+        return DigestUtils.md5Hex(pageVersion + "|" + globalInputs);
+    }
+    
+    
+    //Inner Classes
+    
+    public static class ManifestEntry {
+        
+        public final String fingerprint;
+        
+        public final int photoCount;
+        
+        public final boolean finalized;
+        
+        public ManifestEntry(String fingerprint, int photoCount, boolean finalized) {
+            this.fingerprint = fingerprint;
+            this.photoCount = photoCount;
+            this.finalized = finalized;
+        }
+        
+    }
+    
+}
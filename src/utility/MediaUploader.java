@@ -0,0 +1,81 @@
+/*
+ * File:    MediaUploader.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class MediaUploader implements AutoCloseable {
+    
+    //Fields
+    
+    private final ResourceUtility resources;
+    
+    private final BlockingQueue<Upload> uploads;
+    
+    private final ExecutorService workers;
+    
+    
+    //Constructors
+    
+    public MediaUploader(ResourceUtility resources, int workerCount, int queueCapacity) {
+        this.resources = resources;
+        uploads = new ArrayBlockingQueue<>(queueCapacity);
+        workers = Executors.newFixedThreadPool(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::processUploads);
+        }
+    }
+    
+    
+    //Methods
+    
+    public CompletableFuture<String> submit(File source) throws InterruptedException {
+        Upload upload = new Upload(source);
+        uploads.put(upload);
+        return upload.link;
+    }
+    
+    private void processUploads() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Upload upload = uploads.take();
+                try {
+                    upload.link.complete(resources.uploadImage(upload.source));
+                } catch (Exception e) {
+                    upload.link.completeExceptionally(e);
+                }
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+    
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+    
+    
+    //Inner Classes
+    
+    private static class Upload {
+        
+        final File source;
+        
+        final CompletableFuture<String> link = new CompletableFuture<>();
+        
+        Upload(File source) {
+            this.source = source;
+        }
+        
+    }
+    
+}
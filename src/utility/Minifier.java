@@ -0,0 +1,227 @@
+/*
+ * File:    Minifier.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class Minifier {
+    
+    //Constants
+    
+    private static final Set<String> minifiedTypes = Set.of("html", "css", "js");
+    
+    private static final Set<String> verbatimTags = Set.of("pre", "textarea", "script", "style");
+    
+    private static final Set<String> blockTags = Set.of(
+            "!doctype", "html", "head", "body", "title", "meta", "link", "script", "style", "noscript",
+            "div", "center", "iframe", "ul", "ol", "li", "p", "h1", "h2", "h3", "h4", "h5", "h6", "hr", "br",
+            "table", "thead", "tbody", "tr", "th", "td", "form", "header", "footer", "nav", "section", "video", "source");
+    
+    private static final Pattern continuationPattern = Pattern.compile("\\\\\\r?\\n");
+    
+    
+    //Functions
+    
+    public static boolean isMinified(String fileName) {
+        return minifiedTypes.contains(getFileType(fileName));
+    }
+    
+    public static byte[] minify(String fileName, byte[] content) {
+        String text = new String(content, StandardCharsets.UTF_8);
+        switch (getFileType(fileName)) {
+            case "html":
+                return minifyHtml(text).getBytes(StandardCharsets.UTF_8);
+            case "css":
+                return minifyCss(text).getBytes(StandardCharsets.UTF_8);
+            case "js":
+                return minifyJs(text).getBytes(StandardCharsets.UTF_8);
+            default:
+                return content;
+        }
+    }
+    
+    public static String minifyHtml(String html) {
+        StringBuilder minified = new StringBuilder(html.length());
+        String previousTag = "!doctype";
+        int i = 0;
+        while (i < html.length()) {
+            if (html.startsWith("<!--", i)) {
+                int end = html.indexOf("-->", i + 4);
+                end = (end < 0) ? html.length() : (end + 3);
+                if (html.startsWith("<!--[if", i)) {
+                    minified.append(html, i, end);
+                }
+                i = end;
+                
+            } else if ((html.charAt(i) == '<') && isTagStart(html, i + 1)) {
+                int end = findTagEnd(html, i);
+                String tag = getTagName(html, i);
+                minified.append(html, i, end);
+                if (verbatimTags.contains(tag) && (html.charAt(i + 1) != '/')) {
+                    int close = findClosingTag(html, tag, end);
+                    int closeEnd = (close < 0) ? html.length() : findTagEnd(html, close);
+                    minified.append(html, end, closeEnd);
+                    end = closeEnd;
+                }
+                previousTag = tag;
+                i = end;
+                
+            } else {
+                int end = html.indexOf('<', i + 1);
+                end = (end < 0) ? html.length() : end;
+                String nextTag = (end < html.length()) ? getTagName(html, end) : "html";
+                
+                String text = html.substring(i, end).replaceAll("\\s+", " ");
+                if (blockTags.contains(previousTag) && text.startsWith(" ")) {
+                    text = text.substring(1);
+                }
+                if (blockTags.contains(nextTag) && text.endsWith(" ")) {
+                    text = text.substring(0, text.length() - 1);
+                }
+                minified.append(text);
+                i = end;
+            }
+        }
+        return minified.toString();
+    }
+    
+    public static String minifyCss(String css) {
+        StringBuilder minified = new StringBuilder(css.length());
+        boolean space = false;
+        int i = 0;
+        while (i < css.length()) {
+            char c = css.charAt(i);
+            if (css.startsWith("/*", i)) {
+                int end = css.indexOf("*/", i + 2);
+                i = (end < 0) ? css.length() : (end + 2);
+                
+            } else if ((c == '"') || (c == '\'')) {
+                int end = findStringEnd(css, i);
+                appendPendingSpace(minified, space);
+                space = false;
+                minified.append(css, i, end);
+                i = end;
+                
+            } else if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                
+            } else {
+                if ("{};,>".indexOf(c) >= 0) {
+                    space = false;
+                    trimTrailingSpace(minified);
+                    if ((c == '}') && (minified.length() > 0) && (minified.charAt(minified.length() - 1) == ';')) {
+                        minified.setLength(minified.length() - 1);
+                    }
+                } else {
+                    appendPendingSpace(minified, space);
+                    space = false;
+                }
+                minified.append(c);
+                if ("{};,>:".indexOf(c) >= 0) {
+                    space = false;
+                    while ((i + 1 < css.length()) && Character.isWhitespace(css.charAt(i + 1))) {
+                        i++;
+                    }
+                }
+                i++;
+            }
+        }
+        return minified.toString();
+    }
+    
+    public static String minifyJs(String js) {
+        if ((js.indexOf('`') >= 0) || continuationPattern.matcher(js).find()) {
+            return js;
+        }
+        
+        StringBuilder minified = new StringBuilder(js.length());
+        for (String line : js.split("\\r?\\n")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("//")) {
+                continue;
+            }
+            minified.append(trimmed).append('\n');
+        }
+        return minified.toString();
+    }
+    
+    private static String getFileType(String fileName) {
+        return fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+    
+    private static boolean isTagStart(String html, int i) {
+        return (i < html.length()) && (Character.isLetter(html.charAt(i)) || (html.charAt(i) == '/') || (html.charAt(i) == '!'));
+    }
+    
+    private static String getTagName(String html, int i) {
+        int start = i + 1;
+        if ((start < html.length()) && (html.charAt(start) == '/')) {
+            start++;
+        }
+        int end = start;
+        while ((end < html.length()) && (Character.isLetterOrDigit(html.charAt(end)) || (html.charAt(end) == '!'))) {
+            end++;
+        }
+        return html.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+    
+    private static int findClosingTag(String html, String tag, int from) {
+        for (int i = html.indexOf("</", from); i >= 0; i = html.indexOf("</", i + 2)) {
+            if (html.regionMatches(true, i + 2, tag, 0, tag.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static int findTagEnd(String html, int i) {
+        char quote = 0;
+        for (int j = i + 1; j < html.length(); j++) {
+            char c = html.charAt(j);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if ((c == '"') || (c == '\'')) {
+                quote = c;
+            } else if (c == '>') {
+                return j + 1;
+            }
+        }
+        return html.length();
+    }
+    
+    private static int findStringEnd(String css, int i) {
+        char quote = css.charAt(i);
+        for (int j = i + 1; j < css.length(); j++) {
+            char c = css.charAt(j);
+            if (c == '\\') {
+                j++;
+            } else if ((c == quote) || (c == '\n')) {
+                return j + 1;
+            }
+        }
+        return css.length();
+    }
+    
+    private static void appendPendingSpace(StringBuilder minified, boolean space) {
+        if (space && (minified.length() > 0)) {
+            minified.append(' ');
+        }
+    }
+    
+    private static void trimTrailingSpace(StringBuilder minified) {
+        while ((minified.length() > 0) && (minified.charAt(minified.length() - 1) == ' ')) {
+            minified.setLength(minified.length() - 1);
+        }
+    }
+    
+}
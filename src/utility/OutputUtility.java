@@ -0,0 +1,422 @@
+/*
+ * File:    OutputUtility.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import commons.access.Archive;
+import commons.access.Filesystem;
+import org.apache.commons.codec.digest.DigestUtils;
+
+public class OutputUtility {
+    
+    //Constants
+    
+    private static final Set<String> precompressedTypes = Set.of("png", "jpg", "jpeg", "gif", "ico", "mp4", "zip");
+    
+    private static final Set<String> gzipTypes = Set.of("html", "css", "js", "json");
+    
+    
+    //Fields
+    
+    private boolean writeIfChanged = false;
+    
+    private boolean minify = false;
+    
+    private String lineSeparator = System.lineSeparator();
+    
+    private final Set<String> producedFiles = ConcurrentHashMap.newKeySet();
+    
+    private final Set<String> retainedDirs = ConcurrentHashMap.newKeySet();
+    
+    private File outputRoot = null;
+    
+    private boolean memoryOutput = false;
+    
+    private final Map<String, byte[]> memoryOutputs = new ConcurrentHashMap<>();
+    
+    private ZipOutputStream archiveOutput = null;
+    
+    private long archiveTime = 0L;
+    
+    private final Map<String, String> archiveEntries = new HashMap<>();
+    
+    private Consumer<String> outputListener = null;
+    
+    private final LongAdder bytesWritten = new LongAdder();
+    
+    private final LongAdder filesWritten = new LongAdder();
+    
+    
+    //Methods
+    
+    public void setWriteIfChanged(boolean writeIfChanged) {
+        this.writeIfChanged = writeIfChanged;
+    }
+    
+    public void setMinify(boolean minify) {
+        this.minify = minify;
+    }
+    
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+    
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+    
+    public void setMemoryOutput(File root) {
+        outputRoot = root;
+        memoryOutput = true;
+    }
+    
+    public boolean isMemoryOutput() {
+        return memoryOutput;
+    }
+    
+    public void setArchiveOutput(File root, File archive) throws IOException {
+        if (!archive.getParentFile().exists()) {
+            Filesystem.createDirectory(archive.getParentFile());
+        }
+        outputRoot = root;
+        archiveOutput = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(archive.toPath())));
+        archiveTime = System.currentTimeMillis();
+    }
+    
+    public boolean isArchiveOutput() {
+        return archiveOutput != null;
+    }
+    
+    public void closeArchiveOutput() throws IOException {
+        synchronized (archiveEntries) {
+            if (archiveOutput != null) {
+                archiveOutput.close();
+                archiveOutput = null;
+            }
+        }
+    }
+    
+    public boolean isDiskOutput() {
+        return !isMemoryOutput() && !isArchiveOutput();
+    }
+    
+    public Map<String, byte[]> getMemoryOutputs() {
+        return memoryOutputs;
+    }
+    
+    public void setOutputListener(Consumer<String> outputListener) {
+        this.outputListener = outputListener;
+    }
+    
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+    
+    public long getFilesWritten() {
+        return filesWritten.sum();
+    }
+    
+    public boolean exists(File file) {
+        if (isArchiveOutput()) {
+            synchronized (archiveEntries) {
+                return archiveEntries.containsKey(getOutputPath(file));
+            }
+        }
+        return isMemoryOutput() ? memoryOutputs.containsKey(getOutputPath(file)) : file.exists();
+    }
+    
+    public void writeBytes(File file, byte[] content) throws IOException {
+        if (minify && Minifier.isMinified(file.getName())) {
+            content = Minifier.minify(file.getName(), content);
+        }
+        producedFiles.add(file.getAbsolutePath());
+        if (isMemoryOutput()) {
+            String path = getOutputPath(file);
+            byte[] previous = memoryOutputs.put(path, content);
+            countWrite(content.length);
+            if (!Arrays.equals(previous, content) && (outputListener != null)) {
+                outputListener.accept(path);
+            }
+            return;
+        }
+        if (isArchiveOutput()) {
+            writeArchiveEntry(getOutputPath(file), content);
+            countWrite(content.length);
+            return;
+        }
+        if (writeIfChanged && isUnchanged(file, content)) {
+            return;
+        }
+        
+        if (!file.getParentFile().exists()) {
+            Filesystem.createDirectory(file.getParentFile());
+        }
+        Files.write(file.toPath(), content);
+        countWrite(content.length);
+    }
+    
+    public void writeLines(File file, List<String> lines) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append(lineSeparator);
+        }
+        writeBytes(file, content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public void copyFile(File source, File dest) throws IOException {
+        if (!isDiskOutput()) {
+            writeBytes(dest, Files.readAllBytes(source.toPath()));
+            return;
+        }
+        producedFiles.add(dest.getAbsolutePath());
+        if (writeIfChanged && isUnchanged(dest, source)) {
+            return;
+        }
+        
+        if (!dest.getParentFile().exists()) {
+            Filesystem.createDirectory(dest.getParentFile());
+        }
+        if (!Filesystem.copyFile(source, dest, true)) {
+            throw new IOException("Could not copy: " + source.getAbsolutePath() + " to: " + dest.getAbsolutePath());
+        }
+        countWrite(dest.length());
+    }
+    
+    public void retain(File file) {
+        if (file.isDirectory()) {
+            retainedDirs.add(file.getAbsolutePath() + File.separator);
+        } else {
+            producedFiles.add(file.getAbsolutePath());
+        }
+    }
+    
+    public void deleteOutput(File file) {
+        BuildEvents.FilesystemOperation event = new BuildEvents.FilesystemOperation();
+        event.begin();
+        if (event.isEnabled()) {
+            List<File> files = file.isDirectory() ? Filesystem.getFilesRecursively(file) : List.of(file);
+            event.operation = "delete";
+            event.path = file.getAbsolutePath();
+            event.files = files.size();
+            event.bytes = files.stream().mapToLong(File::length).sum();
+        }
+        
+        if (file.isDirectory()) {
+            Filesystem.deleteDirectory(file);
+        } else {
+            Filesystem.deleteFile(file);
+        }
+        event.commit();
+    }
+    
+    public void sweep(File sink, List<String> outputs) {
+        BuildEvents.FilesystemOperation event = new BuildEvents.FilesystemOperation();
+        event.begin();
+        event.operation = "sweep";
+        
+        for (String output : outputs) {
+            File outputFile = new File(sink, output);
+            if (!outputFile.exists()) {
+                continue;
+            }
+            
+            if (outputFile.isDirectory()) {
+                for (File file : Filesystem.getFilesRecursively(outputFile)) {
+                    if (!isProduced(file)) {
+                        System.out.println("Removed stale output: " + file.getAbsolutePath());
+                        event.files++;
+                        event.bytes += event.isEnabled() ? file.length() : 0L;
+                        Filesystem.deleteFile(file);
+                    }
+                }
+                List<File> dirs = new ArrayList<>(Filesystem.getDirsRecursively(outputFile));
+                dirs.sort(Comparator.comparingInt((File e) -> e.getAbsolutePath().length()).reversed());
+                for (File dir : dirs) {
+                    if (Filesystem.getFilesAndDirs(dir).isEmpty()) {
+                        Filesystem.deleteDirectory(dir);
+                    }
+                }
+            } else if (!isProduced(outputFile)) {
+                System.out.println("Removed stale output: " + outputFile.getAbsolutePath());
+                event.files++;
+                event.bytes += event.isEnabled() ? outputFile.length() : 0L;
+                Filesystem.deleteFile(outputFile);
+            }
+        }
+        
+        event.path = sink.getAbsolutePath();
+        event.commit();
+    }
+    
+    public void precompress(File sink, List<String> outputs) {
+        BuildEvents.FilesystemOperation event = new BuildEvents.FilesystemOperation();
+        event.begin();
+        event.operation = "precompress";
+        
+        List<File> files = new ArrayList<>();
+        for (String output : outputs) {
+            File outputFile = new File(sink, output);
+            if (outputFile.isDirectory()) {
+                files.addAll(Filesystem.getFilesRecursively(outputFile));
+            } else if (outputFile.exists()) {
+                files.add(outputFile);
+            }
+        }
+        
+        LongAdder compressedFiles = new LongAdder();
+        LongAdder compressedBytes = new LongAdder();
+        files.parallelStream()
+                .filter(e -> gzipTypes.contains(Filesystem.getFileType(e).toLowerCase()) && isProduced(e))
+                .forEach(file -> {
+                    File compressed = new File(file.getParentFile(), file.getName() + ".gz");
+                    try {
+                        byte[] content = Files.readAllBytes(file.toPath());
+                        if (compressed.isFile() && Arrays.equals(decompress(compressed), content)) {
+                            retain(compressed);
+                            return;
+                        }
+                        
+                        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(content.length / 2);
+                        try (GZIPOutputStream out = new GZIPOutputStream(gzipped) {{
+                            def.setLevel(Deflater.BEST_COMPRESSION);
+                        }}) {
+                            out.write(content);
+                        }
+                        if (gzipped.size() < content.length) {
+                            writeBytes(compressed, gzipped.toByteArray());
+                            compressedFiles.increment();
+                            compressedBytes.add(gzipped.size());
+                        } else if (compressed.exists()) {
+                            deleteOutput(compressed);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        
+        event.path = sink.getAbsolutePath();
+        event.files = compressedFiles.intValue();
+        event.bytes = compressedBytes.sum();
+        event.commit();
+    }
+    
+    private void countWrite(long bytes) {
+        filesWritten.increment();
+        bytesWritten.add(bytes);
+    }
+    
+    private String getOutputPath(File file) {
+        return outputRoot.toPath().relativize(file.toPath()).toString().replace(File.separator, Archive.ARCHIVE_PATH_SEPARATOR);
+    }
+    
+    private void writeArchiveEntry(String path, byte[] content) throws IOException {
+        String digest = DigestUtils.md5Hex(content);
+        synchronized (archiveEntries) {
+            String previous = archiveEntries.putIfAbsent(path, digest);
+            if (previous != null) {
+                if (!previous.equals(digest)) {
+                    throw new IOException("Conflicting content for archive entry: " + path);
+                }
+                return;
+            }
+            
+            String fileType = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+            Archive.CompressionMethod method = precompressedTypes.contains(fileType) ? Archive.CompressionMethod.STORE : Archive.CompressionMethod.COMPRESS;
+            
+            ZipEntry entry = new ZipEntry(path);
+            entry.setMethod(method.getLevel());
+            entry.setTime(archiveTime);
+            if (method == Archive.CompressionMethod.STORE) {
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                entry.setSize(content.length);
+                entry.setCompressedSize(content.length);
+                entry.setCrc(crc.getValue());
+            }
+            
+            archiveOutput.putNextEntry(entry);
+            archiveOutput.write(content);
+            archiveOutput.closeEntry();
+        }
+    }
+    
+    private boolean isProduced(File file) {
+        String path = file.getAbsolutePath();
+        return producedFiles.contains(path) || retainedDirs.stream().anyMatch(path::startsWith);
+    }
+    
+    
+    //Functions
+    
+    public static Map<String, String> digestOutputs(File sink, List<String> outputs) throws IOException {
+        Map<String, String> digests = new TreeMap<>();
+        for (String output : outputs) {
+            File outputFile = new File(sink, output);
+            List<File> files = outputFile.isDirectory() ? SortedTraversal.getFilesRecursively(outputFile) :
+                               outputFile.exists() ? List.of(outputFile) : List.of();
+            for (File file : files) {
+                try (InputStream in = Files.newInputStream(file.toPath())) {
+                    digests.put(sink.toPath().relativize(file.toPath()).toString().replace("\\", "/"), DigestUtils.md5Hex(in));
+                }
+            }
+        }
+        return digests;
+    }
+    
+    private static boolean isUnchanged(File file, byte[] content) throws IOException {
+        if (!file.isFile() || (file.length() != content.length)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return DigestUtils.md5Hex(in).equals(DigestUtils.md5Hex(content));
+        }
+    }
+    
+    private static boolean isUnchanged(File file, File source) throws IOException {
+        if (!file.isFile() || (file.length() != source.length())) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file.toPath());
+             InputStream sourceIn = Files.newInputStream(source.toPath())) {
+            return DigestUtils.md5Hex(in).equals(DigestUtils.md5Hex(sourceIn));
+        }
+    }
+    
+    private static byte[] decompress(File compressed) {
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(compressed.toPath()))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+}
@@ -0,0 +1,123 @@
+/*
+ * File:    PageTemplate.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import commons.string.StringUtility;
+
+public class PageTemplate {
+    
+    //Constants
+    
+    private static final String contentSlot = "${content}";
+    
+    
+    //Static Fields
+    
+    private static final Map<String, PageTemplate> templates = new ConcurrentHashMap<>();
+    
+    
+    //Fields
+    
+    private final byte[][] segments;
+    
+    
+    //Constructors
+    
+    private PageTemplate(String skeleton) {
+        String[] skeletonParts = skeleton.split(Pattern.quote(contentSlot), -1);
+        segments = new byte[skeletonParts.length][];
+        for (int i = 0; i < skeletonParts.length; i++) {
+            segments[i] = skeletonParts[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+    
+    
+    //Methods
+    
+    public void writeHeader(OutputStream out) throws IOException {
+        out.write(segments[0]);
+    }
+    
+    public void writeFooter(OutputStream out) throws IOException {
+        if (segments.length > 1) {
+            out.write(segments[1]);
+        }
+    }
+    
+    
+    //Functions
+    
+    public static PageTemplate get(String lineSeparator, boolean index, boolean navbar, int depth, String... scripts) {
+        String key = lineSeparator + "|" + index + "|" + navbar + "|" + depth + "|" + String.join("|", scripts);
+        return templates.computeIfAbsent(key, e -> new PageTemplate(compileSkeleton(index, navbar, depth, scripts).replace("\n", lineSeparator)));
+    }
+    
+    private static String compileSkeleton(boolean index, boolean navbar, int depth, String... scripts) {
+        String depthNavigation = StringUtility.repeatString("../", depth);
+        StringBuilder skeleton = new StringBuilder();
+        appendLine(skeleton, "<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Strict//EN\" ");
+        appendLine(skeleton, "\t\"http://www.w3.org/TR/xhtml1/DTD/xhtml1-strict.dtd\">");
+        appendLine(skeleton, "<html xmlns=\"http://www.w3.org/1999/xhtml\" lang=\"en\">");
+        appendLine(skeleton, "");
+        appendLine(skeleton, "\t<head>");
+        appendLine(skeleton, "\t\t<title>Specimens</title>");
+        appendLine(skeleton, "\t\t<link rel=\"stylesheet\" type=\"text/css\" href=\"" + depthNavigation + "css/style.css\"/>");
+        if (scripts.length > 0) {
+            appendLine(skeleton, "\t\t<script src=\"https://code.jquery.com/jquery-2.1.1.min.js\"></script>");
+            for (String script : scripts) {
+                appendLine(skeleton, "\t\t<script src=\"" + script + "\" type=\"text/javascript\"></script>");
+            }
+        }
+        appendFaviconLinks(skeleton, depthNavigation);
+        appendLine(skeleton, "\t</head>");
+        appendLine(skeleton, "");
+        appendLine(skeleton, "\t<body>");
+        appendLine(skeleton, "\t\t<div" + (index ? ">" : (" class=\"" + (navbar ? "navbar" : "main") + "\">")));
+        if (index) {
+            appendLine(skeleton, "\t\t\t<iframe class=\"navbarFrame\" src=\"" + depthNavigation + "navbar.html\"></iframe>");
+            appendLine(skeleton, "\t\t\t<iframe class=\"mainFrame\" name=\"mainFrame\" src=\"" + ((depth > 0) ? "content" : "main") + ".html\"></iframe>");
+        }
+        skeleton.append(contentSlot);
+        appendLine(skeleton, "\t\t</div>");
+        appendLine(skeleton, "\t</body>");
+        appendLine(skeleton, "");
+        appendLine(skeleton, "</html>");
+        return skeleton.toString();
+    }
+    
+    private static void appendFaviconLinks(StringBuilder skeleton, String depthNavigation) {
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"57x57\" href=\"" + depthNavigation + "assets/favicon/apple-icon-57x57.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"60x60\" href=\"" + depthNavigation + "assets/favicon/apple-icon-60x60.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"72x72\" href=\"" + depthNavigation + "assets/favicon/apple-icon-72x72.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"76x76\" href=\"" + depthNavigation + "assets/favicon/apple-icon-76x76.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"114x114\" href=\"" + depthNavigation + "assets/favicon/apple-icon-114x114.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"120x120\" href=\"" + depthNavigation + "assets/favicon/apple-icon-120x120.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"144x144\" href=\"" + depthNavigation + "assets/favicon/apple-icon-144x144.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"152x152\" href=\"" + depthNavigation + "assets/favicon/apple-icon-152x152.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"apple-touch-icon\" sizes=\"180x180\" href=\"" + depthNavigation + "assets/favicon/apple-icon-180x180.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"icon\" type=\"image/png\" sizes=\"192x192\"  href=\"" + depthNavigation + "assets/favicon/android-icon-192x192.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"icon\" type=\"image/png\" sizes=\"32x32\" href=\"" + depthNavigation + "assets/favicon/favicon-32x32.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"icon\" type=\"image/png\" sizes=\"96x96\" href=\"" + depthNavigation + "assets/favicon/favicon-96x96.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"icon\" type=\"image/png\" sizes=\"16x16\" href=\"" + depthNavigation + "assets/favicon/favicon-16x16.png\">");
+        appendLine(skeleton, "\t\t<link rel=\"manifest\" href=\"" + depthNavigation + "assets/favicon/manifest.json\">");
+        appendLine(skeleton, "\t\t<meta name=\"msapplication-TileColor\" content=\"#ffffff\">");
+        appendLine(skeleton, "\t\t<meta name=\"msapplication-TileImage\" content=\"/ms-icon-144x144.png\">");
+        appendLine(skeleton, "\t\t<meta name=\"theme-color\" content=\"#ffffff\">");
+    }
+    
+    private static void appendLine(StringBuilder skeleton, String line) {
+        skeleton.append(line).append('\n');
+    }
+    
+}
@@ -0,0 +1,268 @@
+/*
+ * File:    PageWeightAnalyzer.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import commons.access.Filesystem;
+import org.json.simple.JSONValue;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+public class PageWeightAnalyzer {
+    
+    //Constants
+    
+    private static final String cloudinaryUploadMarker = "/upload/";
+    
+    
+    //Fields
+    
+    private final File root;
+    
+    private final File specimensSource;
+    
+    private final Budget budget;
+    
+    private final Map<String, String> referenceKeys = new HashMap<>();
+    
+    
+    //Constructors
+    
+    public PageWeightAnalyzer(File root, File specimensSource, Map<String, String> imageReferences, Budget budget) {
+        this.root = root;
+        this.specimensSource = specimensSource;
+        this.budget = budget;
+        
+        synchronized (imageReferences) {
+            imageReferences.forEach((key, reference) -> referenceKeys.put(reference, key));
+        }
+    }
+    
+    
+    //Methods
+    
+    public List<PageWeight> analyze() {
+        return Filesystem.getFilesRecursively(root).parallelStream()
+                .filter(e -> e.getName().toLowerCase().endsWith(".html"))
+                .map(this::analyzePage)
+                .sorted(Comparator.comparingLong(PageWeight::getTotalBytes).reversed().thenComparing(e -> e.path))
+                .collect(Collectors.toList());
+    }
+    
+    private PageWeight analyzePage(File page) {
+        PageWeight weight = new PageWeight(root.toPath().relativize(page.toPath()).toString().replace("\\", "/"));
+        weight.htmlBytes = page.length();
+        
+        Document document;
+        try {
+            document = Jsoup.parse(page, StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            weight.violations.add("unreadable: " + e.getMessage());
+            return weight;
+        }
+        
+        Map<String, Integer> references = new LinkedHashMap<>();
+        Set<String> media = new LinkedHashSet<>();
+        for (Element element : document.select("img[src], video[src], video source[src]")) {
+            String src = element.attr("src");
+            references.merge(src, 1, Integer::sum);
+            media.add(src);
+            if (element.tagName().equals("img")) {
+                weight.imageCount++;
+            } else {
+                weight.videoCount++;
+            }
+        }
+        for (String src : media) {
+            long size = getAssetSize(page, src);
+            if (size < 0) {
+                weight.unresolvedMedia++;
+            } else {
+                weight.mediaBytes += size;
+            }
+        }
+        
+        for (Element script : document.select("script[src]")) {
+            String src = script.attr("src");
+            references.merge(src, 1, Integer::sum);
+            weight.scriptCount++;
+            weight.scriptBytes += Math.max(getAssetSize(page, src), 0L);
+        }
+        for (Element stylesheet : document.select("link[rel=stylesheet][href]")) {
+            references.merge(stylesheet.attr("href"), 1, Integer::sum);
+        }
+        references.forEach((reference, count) -> {
+            if (count > 1) {
+                weight.duplicateReferences.add(reference);
+            }
+        });
+        
+        checkBudget(weight);
+        return weight;
+    }
+    
+    private long getAssetSize(File page, String src) {
+        int uploadIndex = src.indexOf(cloudinaryUploadMarker);
+        if (src.startsWith("http") && (uploadIndex >= 0)) {
+            String key = referenceKeys.get(src.substring(uploadIndex + cloudinaryUploadMarker.length()));
+            File source = (key != null) ? new File(specimensSource, key) : null;
+            return ((source != null) && source.exists()) ? source.length() : -1L;
+        }
+        if (src.startsWith("file:")) {
+            File source = new File(URI.create(src));
+            return source.exists() ? source.length() : -1L;
+        }
+        if (src.contains("://") || src.startsWith("//")) {
+            return -1L;
+        }
+        
+        File asset = new File(page.getParentFile(), src);
+        return asset.exists() ? asset.length() : -1L;
+    }
+    
+    private void checkBudget(PageWeight weight) {
+        if ((budget.maxHtmlBytes >= 0) && (weight.htmlBytes > budget.maxHtmlBytes)) {
+            weight.violations.add("htmlBytes " + weight.htmlBytes + " > " + budget.maxHtmlBytes);
+        }
+        if ((budget.maxMediaElements >= 0) && ((weight.imageCount + weight.videoCount) > budget.maxMediaElements)) {
+            weight.violations.add("mediaElements " + (weight.imageCount + weight.videoCount) + " > " + budget.maxMediaElements);
+        }
+        if ((budget.maxMediaBytes >= 0) && (weight.mediaBytes > budget.maxMediaBytes)) {
+            weight.violations.add("mediaBytes " + weight.mediaBytes + " > " + budget.maxMediaBytes);
+        }
+        if ((budget.maxScripts >= 0) && (weight.scriptCount > budget.maxScripts)) {
+            weight.violations.add("scripts " + weight.scriptCount + " > " + budget.maxScripts);
+        }
+        if ((budget.maxDuplicateReferences >= 0) && (weight.duplicateReferences.size() > budget.maxDuplicateReferences)) {
+            weight.violations.add("duplicateReferences " + weight.duplicateReferences.size() + " > " + budget.maxDuplicateReferences);
+        }
+    }
+    
+    
+    //Functions
+    
+    public static List<PageWeight> getViolations(List<PageWeight> weights) {
+        return weights.stream().filter(e -> !e.violations.isEmpty()).collect(Collectors.toList());
+    }
+    
+    public static void writeReport(File report, List<PageWeight> weights) throws IOException {
+        List<Map<String, Object>> pageData = new ArrayList<>();
+        for (PageWeight weight : weights) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("page", weight.path);
+            entry.put("totalBytes", weight.getTotalBytes());
+            entry.put("htmlBytes", weight.htmlBytes);
+            entry.put("images", weight.imageCount);
+            entry.put("videos", weight.videoCount);
+            entry.put("mediaBytes", weight.mediaBytes);
+            entry.put("unresolvedMedia", weight.unresolvedMedia);
+            entry.put("scripts", weight.scriptCount);
+            entry.put("scriptBytes", weight.scriptBytes);
+            entry.put("duplicateReferences", weight.duplicateReferences);
+            entry.put("violations", weight.violations);
+            pageData.add(entry);
+        }
+        
+        Map<String, Object> reportData = new LinkedHashMap<>();
+        reportData.put("pages", weights.size());
+        reportData.put("totalBytes", weights.stream().mapToLong(PageWeight::getTotalBytes).sum());
+        reportData.put("violations", getViolations(weights).size());
+        reportData.put("weights", pageData);
+        Files.write(report.toPath(), JSONValue.toJSONString(reportData).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    
+    //Inner Classes
+    
+    public static class Budget {
+        
+        final long maxHtmlBytes;
+        
+        final int maxMediaElements;
+        
+        final long maxMediaBytes;
+        
+        final int maxScripts;
+        
+        final int maxDuplicateReferences;
+        
+        public Budget(long maxHtmlBytes, int maxMediaElements, long maxMediaBytes, int maxScripts, int maxDuplicateReferences) {
+            this.maxHtmlBytes = maxHtmlBytes;
+            this.maxMediaElements = maxMediaElements;
+            this.maxMediaBytes = maxMediaBytes;
+            this.maxScripts = maxScripts;
+            this.maxDuplicateReferences = maxDuplicateReferences;
+        }
+        
+        public List<Object> toData() {
+            return Arrays.asList(maxHtmlBytes, maxMediaElements, maxMediaBytes, maxScripts, maxDuplicateReferences);
+        }
+        
+        public static Budget fromData(List<Object> data) {
+            return new Budget(((Number) data.get(0)).longValue(), ((Number) data.get(1)).intValue(), ((Number) data.get(2)).longValue(),
+                    ((Number) data.get(3)).intValue(), ((Number) data.get(4)).intValue());
+        }
+        
+    }
+    
+    public static class PageWeight {
+        
+        final String path;
+        
+        long htmlBytes = 0L;
+        
+        int imageCount = 0;
+        
+        int videoCount = 0;
+        
+        long mediaBytes = 0L;
+        
+        int unresolvedMedia = 0;
+        
+        int scriptCount = 0;
+        
+        long scriptBytes = 0L;
+        
+        final List<String> duplicateReferences = new ArrayList<>();
+        
+        final List<String> violations = new ArrayList<>();
+        
+        PageWeight(String path) {
+            this.path = path;
+        }
+        
+        public String getPath() {
+            return path;
+        }
+        
+        public long getTotalBytes() {
+            return htmlBytes + mediaBytes + scriptBytes;
+        }
+        
+        public List<String> getViolations() {
+            return violations;
+        }
+        
+    }
+    
+}
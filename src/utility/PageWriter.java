@@ -0,0 +1,97 @@
+/*
+ * File:    PageWriter.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class PageWriter implements AutoCloseable {
+    
+    //Constants
+    
+    private static final String contentIndent = "\t\t\t";
+    
+    
+    //Fields
+    
+    private final PageTemplate template;
+    
+    private final OutputUtility output;
+    
+    private final File page;
+    
+    private final OutputStream out;
+    
+    private final Writer writer;
+    
+    private final String lineSeparator;
+    
+    private boolean finished = false;
+    
+    
+    //Constructors
+    
+    public PageWriter(OutputUtility output, File page, boolean index, boolean navbar, int depth, String... scripts) throws IOException {
+        this(output, page, new ByteArrayOutputStream(), output.getLineSeparator(), index, navbar, depth, scripts);
+    }
+    
+    public PageWriter(OutputStream out, String lineSeparator, boolean index, boolean navbar, int depth, String... scripts) throws IOException {
+        this(null, null, out, lineSeparator, index, navbar, depth, scripts);
+    }
+    
+    private PageWriter(OutputUtility output, File page, OutputStream out, String lineSeparator, boolean index, boolean navbar, int depth, String... scripts) throws IOException {
+        template = PageTemplate.get(lineSeparator, index, navbar, depth, scripts);
+        this.output = output;
+        this.page = page;
+        this.out = out;
+        this.lineSeparator = lineSeparator;
+        writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        
+        template.writeHeader(out);
+    }
+    
+    
+    //Methods
+    
+    public static void writeIndexPage(OutputUtility output, File page, int depth) throws IOException {
+        try (PageWriter indexPage = new PageWriter(output, page, true, false, depth)) {
+            indexPage.finish();
+        }
+    }
+    
+    public static void writeIndexPage(OutputStream out, String lineSeparator, int depth) throws IOException {
+        try (PageWriter indexPage = new PageWriter(out, lineSeparator, true, false, depth)) {
+            indexPage.finish();
+        }
+    }
+    
+    public void writeLine(String contentLine) throws IOException {
+        writer.write(contentIndent);
+        writer.write(contentLine);
+        writer.write(lineSeparator);
+    }
+    
+    public void finish() throws IOException {
+        writer.flush();
+        template.writeFooter(out);
+        finished = true;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        if (finished && (output != null)) {
+            output.writeBytes(page, ((ByteArrayOutputStream) out).toByteArray());
+        }
+    }
+    
+}
@@ -0,0 +1,157 @@
+/*
+ * File:    PreviewServer.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class PreviewServer implements AutoCloseable {
+    
+    //Constants
+    
+    private static final String liveReloadPath = "/__livereload";
+    
+    private static final String liveReloadScript =
+            "<script>new EventSource('" + liveReloadPath + "').onmessage = function(e) {" +
+                    " if ((e.data === '*') || (e.data === location.pathname)) { location.reload(); } };</script>";
+    
+    private static final int reloadEventCapacity = 256;
+    
+    private static final Map<String, String> contentTypes = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "ico", "image/x-icon",
+            "json", "application/json",
+            "xml", "application/xml",
+            "mp4", "video/mp4");
+    
+    
+    //Fields
+    
+    private final HttpServer server;
+    
+    private final Map<String, byte[]> pages;
+    
+    private final Object reloadLock = new Object();
+    
+    private final List<String> reloadEvents = new ArrayList<>();
+    
+    private long reloadVersion = 0;
+    
+    
+    //Constructors
+    
+    public PreviewServer(int port, Map<String, byte[]> pages) throws IOException {
+        this.pages = pages;
+        
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext(liveReloadPath, this::handleLiveReload);
+        server.createContext("/", this::handlePage);
+        server.start();
+        
+        System.out.println("Preview available at: http://localhost:" + server.getAddress().getPort() + "/");
+    }
+    
+    
+    //Methods
+    
+    public void pageChanged(String path) {
+        synchronized (reloadLock) {
+            reloadEvents.add(path.endsWith(".html") ? ('/' + path) : "*");
+            if (reloadEvents.size() > reloadEventCapacity) {
+                reloadEvents.remove(0);
+            }
+            reloadVersion++;
+            reloadLock.notifyAll();
+        }
+    }
+    
+    private void handlePage(HttpExchange exchange) throws IOException {
+        String path = URLDecoder.decode(exchange.getRequestURI().getPath(), StandardCharsets.UTF_8).replaceAll("^/+", "");
+        if (path.isEmpty() || path.endsWith("/")) {
+            path += "index.html";
+        }
+        
+        byte[] page = pages.get(path);
+        if (page == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        
+        String fileType = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+        if (fileType.equals("html")) {
+            String html = new String(page, StandardCharsets.UTF_8);
+            int bodyEnd = html.lastIndexOf("</body>");
+            html = (bodyEnd < 0) ? (html + liveReloadScript) : (html.substring(0, bodyEnd) + liveReloadScript + html.substring(bodyEnd));
+            page = html.getBytes(StandardCharsets.UTF_8);
+        }
+        
+        exchange.getResponseHeaders().set("Content-Type", contentTypes.getOrDefault(fileType, "application/octet-stream"));
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, page.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(page);
+        }
+    }
+    
+    private void handleLiveReload(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            long version;
+            synchronized (reloadLock) {
+                version = reloadVersion;
+            }
+            while (true) {
+                Set<String> paths = new LinkedHashSet<>();
+                synchronized (reloadLock) {
+                    if (reloadVersion == version) {
+                        reloadLock.wait(15000);
+                    }
+                    long firstVersion = reloadVersion - reloadEvents.size();
+                    if (version < firstVersion) {
+                        paths.add("*");
+                    } else {
+                        paths.addAll(reloadEvents.subList((int) (version - firstVersion), reloadEvents.size()));
+                    }
+                    version = reloadVersion;
+                }
+                
+                StringBuilder events = new StringBuilder(paths.isEmpty() ? ":\n\n" : "");
+                paths.forEach(e -> events.append("data: ").append(e).append("\n\n"));
+                out.write(events.toString().getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (InterruptedException | IOException ignored) {
+        }
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+    
+}
@@ -9,6 +9,7 @@ package utility;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,32 +23,59 @@ public class ResourceUtility {
     
     //Constants
     
-    private static final File resources = new File("resources");
+    private static final Pattern imageFolderPattern = Pattern.compile("^(?<id>\\d+)\\s-\\s");
     
+    private static final Pattern shortcutUrlPattern = Pattern.compile("^.*URL=(?<url>.+)$");
     
-    //Static Fields
     
-    private static Map<String, String> imageReferences = new LinkedHashMap<>();
+    //Fields
     
-    private static Map<String, String> vialRackReferences = new LinkedHashMap<>();
+    private final File resources;
     
-    private static boolean fullImageCopy = false;
+    private final OutputUtility output;
+    
+    private final Map<String, String> imageReferences = Collections.synchronizedMap(new LinkedHashMap<>());
+    
+    private final Map<String, String> vialRackReferences = new LinkedHashMap<>();
+    
+    private boolean fullImageCopy = false;
+    
+    private boolean autoSave = true;
+    
+    
+    //Constructors
+    
+    public ResourceUtility(File resources, OutputUtility output) {
+        this.resources = resources;
+        this.output = output;
+    }
+    
+    public ResourceUtility() {
+        this(new File("resources"), new OutputUtility());
+    }
     
     
     //Getters
     
-    public static Map<String, String> getImageReferences() {
+    public Map<String, String> getImageReferences() {
         return imageReferences;
     }
     
-    public static Map<String, String> getVialRackReferences() {
+    public Map<String, String> getVialRackReferences() {
         return vialRackReferences;
     }
     
     
-    //Functions
+    //Setters
+    
+    public void setAutoSave(boolean autoSave) {
+        this.autoSave = autoSave;
+    }
     
-    public static void loadResources() throws Exception {
+    
+    //Methods
+    
+    public void loadResources() throws Exception {
         CloudinaryUtility.initialize();
         
         File vialRackReferencesFile = new File(resources, "vialRackReferences.csv");
@@ -69,68 +97,100 @@ public class ResourceUtility {
         }
     }
     
-    public static void saveResources() throws Exception {
+    public synchronized void saveResources() throws Exception {
+        BuildEvents.ResourceSave event = new BuildEvents.ResourceSave();
+        event.begin();
+        
         List<String> vialRackReferencesData = new ArrayList<>();
         vialRackReferences.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(e -> vialRackReferencesData.add(e.getKey() + "," + e.getValue()));
         File vialRackReferencesFile = new File(resources, "vialRackReferences.csv");
         Filesystem.writeLines(vialRackReferencesFile, vialRackReferencesData);
         
         List<String> imageReferencesData = new ArrayList<>();
-        imageReferences.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(e -> imageReferencesData.add(e.getKey() + "," + e.getValue()));
+        synchronized (imageReferences) {
+            imageReferences.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(e -> imageReferencesData.add(e.getKey() + "," + e.getValue()));
+        }
         File imageReferencesFile = new File(resources, "imageReferences.csv");
         Filesystem.writeLines(imageReferencesFile, imageReferencesData);
+        
+        if (event.shouldCommit()) {
+            event.imageReferences = imageReferencesData.size();
+            event.vialRackReferences = vialRackReferencesData.size();
+            event.bytes = imageReferencesFile.length() + vialRackReferencesFile.length();
+            event.commit();
+        }
+    }
+    
+    public String linkImage(File source, File destDir, int index) throws Exception {
+        String link = getImageLink(source, destDir, index);
+        return (link != null) ? link : uploadImage(source);
     }
     
-    public static String linkImage(File source, File destDir, int index) throws Exception {
-        if (fullImageCopy) {
-            return linkImageFullCopy(source, destDir, index);
-        } else {
-            return linkImageReference(source);
+    public String getImageLink(File source, File destDir, int index) throws Exception {
+        BuildEvents.ImageLink event = new BuildEvents.ImageLink();
+        event.begin();
+        
+        String link = fullImageCopy ? linkImageFullCopy(source, destDir, index) : linkImageReference(source);
+        
+        if (event.shouldCommit()) {
+            event.imageKey = getImageKey(source);
+            event.cacheHit = (link != null);
+            event.fullCopy = fullImageCopy;
+            event.commit();
         }
+        return link;
     }
     
-    private static String linkImageFullCopy(File source, File destDir, int index) throws Exception {
+    private String linkImageFullCopy(File source, File destDir, int index) throws Exception {
         File imageDir = new File(destDir, "images");
-        if (!imageDir.exists()) {
-            Filesystem.createDirectory(imageDir);
-        }
         if (index >= 0) {
             imageDir = new File(imageDir, String.valueOf(index));
-            if (!imageDir.exists()) {
-                Filesystem.createDirectory(imageDir);
-            }
         }
         
         File link = new File(imageDir, StringUtility.rShear(source.getName(), 4) + StringUtility.rSnip(source.getName(), 4).toLowerCase());
-        Filesystem.copyFile(source, link);
+        output.copyFile(source, link);
         return "images/" + ((index >= 0) ? (index + "/") : "") + link.getName();
     }
     
-    private static String linkImageReference(File source) throws Exception {
+    private String linkImageReference(File source) {
         boolean isVideo = source.getName().toLowerCase().endsWith(".mp4");
-        String imageKey = source.getAbsolutePath().replace("\\", "/").replaceAll("^.*/Specimens/", "");
-        if (imageReferences.containsKey(imageKey)) {
-            return "http://res.cloudinary.com/specimens/" + (isVideo ? "video" : "image") + "/upload/" + imageReferences.get(imageKey);
+        String imageReference = imageReferences.get(getImageKey(source));
+        if (imageReference != null) {
+            return "http://res.cloudinary.com/specimens/" + (isVideo ? "video" : "image") + "/upload/" + imageReference;
         }
+        return null;
+    }
+    
+    public String uploadImage(File source) throws Exception {
+        boolean isVideo = source.getName().toLowerCase().endsWith(".mp4");
+        String imageKey = getImageKey(source);
         
-        String folder = imageKey.substring(0, 4);
-        folder = folder.matches("\\d{4}") ? folder : "";
+        Matcher folderMatcher = imageFolderPattern.matcher(imageKey);
+        String folder = folderMatcher.find() ? folderMatcher.group("id") : "";
         
         String url = CloudinaryUtility.upload(source, folder);
         imageReferences.put(imageKey, url.replace("http://res.cloudinary.com/specimens/" + (isVideo ? "video" : "image") + "/upload/", ""));
-        saveResources();
+        if (autoSave) {
+            saveResources();
+        }
         
         return url;
     }
     
-    public static String linkVialRack(File vialRack) {
+    public String linkVialRack(File vialRack) {
         return vialRackReferences.get(vialRack.getAbsolutePath().replace("\\", "/").replaceAll("^.*/Vial Racks/", ""));
     }
     
-    public static String getUrlFromShortcut(File shortcut) throws Exception {
+    
+    //Functions
+    
+    public static String getImageKey(File image) {
+        return image.getAbsolutePath().replace("\\", "/").replaceAll("^.*/Specimens/", "");
+    }
+    
+    public static String getUrlFromShortcut(File shortcut) {
         String content = StringUtility.removeWhiteSpace(Filesystem.readFileToString(shortcut));
-        Pattern getUrlPattern = Pattern.compile("^.*URL=(?<url>.+)$");
-        Matcher getUrlMatcher = getUrlPattern.matcher(content);
+        Matcher getUrlMatcher = shortcutUrlPattern.matcher(content);
         if (getUrlMatcher.matches()) {
             return getUrlMatcher.group("url");
         }
@@ -0,0 +1,164 @@
+/*
+ * File:    SearchIndex.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.json.simple.JSONValue;
+
+public class SearchIndex {
+    
+    //Constants
+    
+    public static final int minTermLength = 2;
+    
+    private static final int maxShardPostings = 4000;
+    
+    private static final int nameWeight = 8;
+    
+    private static final int taxonWeight = 4;
+    
+    private static final int locationWeight = 2;
+    
+    private static final int descriptionWeight = 1;
+    
+    private static final int categoryWeight = 1;
+    
+    private static final Pattern markPattern = Pattern.compile("\\p{M}+");
+    
+    private static final Pattern separatorPattern = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    
+    //Fields
+    
+    private final Map<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    
+    
+    //Methods
+    
+    public void addDocument(int position, Document document, Map<String, String> taxonomyDescriptions) {
+        addTerms(position, document.name, nameWeight);
+        for (String taxon : document.taxa) {
+            addTerms(position, taxon, taxonWeight);
+            String description = taxonomyDescriptions.get(taxon);
+            if (description != null) {
+                addTerms(position, description, descriptionWeight);
+            }
+        }
+        document.location.forEach(e -> addTerms(position, e, locationWeight));
+        document.categories.forEach(e -> addTerms(position, e, categoryWeight));
+    }
+    
+    private void addTerms(int position, String text, int weight) {
+        for (String term : tokenize(text)) {
+            postings.computeIfAbsent(term, e -> new TreeMap<>()).merge(position, weight, Integer::sum);
+        }
+    }
+    
+    public void write(OutputUtility output, File searchDir) throws IOException {
+        Map<String, List<String>> shards = new TreeMap<>();
+        partition(new ArrayList<>(postings.keySet()), minTermLength, shards);
+        
+        for (Map.Entry<String, List<String>> shard : shards.entrySet()) {
+            Map<String, Object> shardData = new LinkedHashMap<>();
+            for (String term : shard.getValue()) {
+                List<Integer> termPostings = new ArrayList<>();
+                postings.get(term).forEach((position, score) -> {
+                    termPostings.add(position);
+                    termPostings.add(score);
+                });
+                shardData.put(term, termPostings);
+            }
+            output.writeBytes(getShardFile(searchDir, shard.getKey()), JSONValue.toJSONString(shardData).getBytes(StandardCharsets.UTF_8));
+        }
+        
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("minTermLength", minTermLength);
+        index.put("shards", new ArrayList<>(shards.keySet()));
+        output.writeBytes(new File(searchDir, "index.json"), JSONValue.toJSONString(index).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void partition(List<String> terms, int prefixLength, Map<String, List<String>> shards) {
+        Map<String, List<String>> groups = terms.stream()
+                .collect(Collectors.groupingBy(e -> e.substring(0, Math.min(prefixLength, e.length())), TreeMap::new, Collectors.toList()));
+        
+        groups.forEach((prefix, group) -> {
+            int groupPostings = group.stream().mapToInt(e -> postings.get(e).size()).sum();
+            if ((groupPostings > maxShardPostings) && group.stream().anyMatch(e -> e.length() > prefixLength)) {
+                partition(group, prefixLength + 1, shards);
+            } else {
+                shards.put(prefix, group);
+            }
+        });
+    }
+    
+    
+    //Functions
+    
+    public static File getShardFile(File searchDir, String prefix) {
+        return new File(searchDir, "terms-" + prefix + ".json");
+    }
+    
+    public static List<String> tokenize(String text) {
+        String folded = markPattern.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return Arrays.stream(separatorPattern.split(folded))
+                .filter(e -> e.length() >= minTermLength)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+    
+    
+    //Inner Classes
+    
+    public static class Document {
+        
+        final String name;
+        
+        final List<String> taxa;
+        
+        final List<String> location;
+        
+        final List<String> categories;
+        
+        public Document(Specimen specimen) {
+            this(specimen.getName().substring(specimen.getName().indexOf('-') + 1),
+                    specimen.getTaxonomy().stream().filter(Specimen.TaxonomyRank::isValid).map(Specimen.TaxonomyRank::getValue).collect(Collectors.toList()),
+                    specimen.getLocation(),
+                    specimen.getPhotoCategories().stream().map(Specimen.PhotoCategory::getCategory).collect(Collectors.toList()));
+        }
+        
+        private Document(String name, List<String> taxa, List<String> location, List<String> categories) {
+            this.name = name;
+            this.taxa = taxa;
+            this.location = location;
+            this.categories = categories;
+        }
+        
+        public List<Object> toData() {
+            return Arrays.asList(name, taxa, location, categories);
+        }
+        
+        @SuppressWarnings("unchecked")
+        public static Document fromData(List<Object> data) {
+            return new Document((String) data.get(0), (List<String>) data.get(1), (List<String>) data.get(2), (List<String>) data.get(3));
+        }
+        
+    }
+    
+}
@@ -0,0 +1,99 @@
+/*
+ * File:    ShardUtility.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import commons.access.Filesystem;
+import org.json.simple.JSONValue;
+
+public class ShardUtility {
+    
+    //Constants
+    
+    private static final long pollMillis = 200;
+    
+    
+    //Functions
+    
+    public static File getConfig(File workDir) {
+        return new File(workDir, "config.json");
+    }
+    
+    public static File getPartial(File workDir, int index) {
+        return new File(workDir, "shard-" + index + ".json");
+    }
+    
+    public static int getRangeStart(int size, int index, int count) {
+        return (int) (((long) size * index) / count);
+    }
+    
+    public static int getRangeEnd(int size, int index, int count) {
+        return getRangeStart(size, index + 1, count);
+    }
+    
+    public static void clearPartials(File workDir, int count) {
+        for (int i = 0; i < count; i++) {
+            Filesystem.deleteFile(getPartial(workDir, i));
+        }
+    }
+    
+    public static List<Process> launchWorkers(Class<?> mainClass, File configFile, int count) throws IOException {
+        String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getAbsolutePath();
+        List<Process> workers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), mainClass.getName(), configFile.getAbsolutePath(), String.valueOf(i))
+                    .inheritIO()
+                    .start());
+        }
+        return workers;
+    }
+    
+    public static void writePartial(File workDir, int index, Map<String, Object> partial) throws IOException {
+        Filesystem.createDirectory(workDir);
+        File partialFile = getPartial(workDir, index);
+        File tmp = new File(workDir, partialFile.getName() + ".tmp");
+        Files.write(tmp.toPath(), JSONValue.toJSONString(partial).getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp.toPath(), partialFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> awaitPartial(File workDir, int index, Process worker, long timeoutMillis) throws IOException, InterruptedException {
+        File partialFile = getPartial(workDir, index);
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!partialFile.exists()) {
+            if ((worker != null) && !worker.isAlive() && !partialFile.exists()) {
+                throw new IOException("Shard worker " + index + " exited with code " + worker.exitValue() + " without producing a partial");
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IOException("Shard worker " + index + " did not produce a partial within " + timeoutMillis + "ms");
+            }
+            Thread.sleep(pollMillis);
+        }
+        if (worker != null) {
+            if (!worker.waitFor(Math.max(deadline - System.currentTimeMillis(), pollMillis), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Shard worker " + index + " did not exit within " + timeoutMillis + "ms");
+            }
+            if (worker.exitValue() != 0) {
+                throw new IOException("Shard worker " + index + " exited with code " + worker.exitValue());
+            }
+        }
+        
+        Map<String, Object> partial = (Map<String, Object>) JSONValue.parse(new String(Files.readAllBytes(partialFile.toPath()), StandardCharsets.UTF_8));
+        Filesystem.deleteFile(partialFile);
+        return partial;
+    }
+    
+}
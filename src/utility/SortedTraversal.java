@@ -0,0 +1,43 @@
+/*
+ * File:    SortedTraversal.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.util.Comparator;
+import java.util.List;
+
+import commons.access.Filesystem;
+
+public class SortedTraversal {
+    
+    //Constants
+    
+    public static final Comparator<File> fileOrder = Comparator.comparing((File e) -> e.getName().toUpperCase())
+            .thenComparing(File::getName);
+    
+    
+    //Functions
+    
+    public static List<File> getDirs(File directory) {
+        List<File> dirs = Filesystem.getDirs(directory);
+        dirs.sort(fileOrder);
+        return dirs;
+    }
+    
+    public static List<File> getFiles(File directory) {
+        List<File> files = Filesystem.getFiles(directory);
+        files.sort(fileOrder);
+        return files;
+    }
+    
+    public static List<File> getFilesRecursively(File directory) {
+        List<File> files = Filesystem.getFilesRecursively(directory);
+        files.sort(Comparator.comparing(File::getAbsolutePath));
+        return files;
+    }
+    
+}
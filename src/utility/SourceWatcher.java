@@ -0,0 +1,107 @@
+/*
+ * File:    SourceWatcher.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import commons.access.Filesystem;
+
+public class SourceWatcher implements AutoCloseable {
+    
+    //Fields
+    
+    private final WatchService watchService;
+    
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    
+    private final File[] roots;
+    
+    private final long debounceMillis;
+    
+    
+    //Constructors
+    
+    public SourceWatcher(long debounceMillis, File... roots) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.roots = roots;
+        this.debounceMillis = debounceMillis;
+        
+        for (File root : roots) {
+            register(root);
+        }
+    }
+    
+    
+    //Methods
+    
+    public Set<File> awaitChanges() throws InterruptedException, IOException {
+        Set<File> changes = new LinkedHashSet<>();
+        WatchKey key = watchService.take();
+        while (key != null) {
+            collectChanges(key, changes);
+            key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        return changes;
+    }
+    
+    private void collectChanges(WatchKey key, Set<File> changes) throws IOException {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if ((event.kind() == StandardWatchEventKinds.OVERFLOW) || (dir == null)) {
+                changes.addAll(Arrays.asList(roots));
+                continue;
+            }
+            
+            File changed = dir.resolve((Path) event.context()).toFile();
+            changes.add(changed);
+            if ((event.kind() == StandardWatchEventKinds.ENTRY_CREATE) && changed.isDirectory()) {
+                register(changed);
+            }
+        }
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+        }
+    }
+    
+    private void register(File root) throws IOException {
+        if (!root.isDirectory()) {
+            return;
+        }
+        
+        registerDir(root);
+        for (File dir : Filesystem.getDirsRecursively(root)) {
+            registerDir(dir);
+        }
+    }
+    
+    private void registerDir(File dir) throws IOException {
+        Path path = dir.toPath();
+        watchedDirs.put(path.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY), path);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+    
+}
@@ -0,0 +1,325 @@
+/*
+ * File:    Specimen.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class Specimen {
+    
+    //Fields
+    
+    private final File directory;
+    
+    private final String id;
+    
+    private final String name;
+    
+    private final boolean favorite;
+    
+    private final boolean idPresent;
+    
+    private final List<IdLine> idLines;
+    
+    private final String bugGuideUrl;
+    
+    private final boolean taxonomyPresent;
+    
+    private final List<TaxonomyRank> taxonomy;
+    
+    private final boolean photosPresent;
+    
+    private final List<PhotoCategory> photoCategories;
+    
+    private final boolean referencesPresent;
+    
+    private final Map<String, String> references;
+    
+    
+    //Constructors
+    
+    Specimen(File directory, String id, boolean favorite,
+            boolean idPresent, List<IdLine> idLines, String bugGuideUrl,
+            boolean taxonomyPresent, List<TaxonomyRank> taxonomy,
+            boolean photosPresent, List<PhotoCategory> photoCategories,
+            boolean referencesPresent, Map<String, String> references) {
+        this.directory = directory;
+        this.id = id;
+        this.name = directory.getName();
+        this.favorite = favorite;
+        this.idPresent = idPresent;
+        this.idLines = Collections.unmodifiableList(idLines);
+        this.bugGuideUrl = bugGuideUrl;
+        this.taxonomyPresent = taxonomyPresent;
+        this.taxonomy = Collections.unmodifiableList(taxonomy);
+        this.photosPresent = photosPresent;
+        this.photoCategories = Collections.unmodifiableList(photoCategories);
+        this.referencesPresent = referencesPresent;
+        this.references = Collections.unmodifiableMap(new LinkedHashMap<>(references));
+    }
+    
+    
+    //Methods
+    
+    public boolean isFinalized() {
+        return idLines.stream().anyMatch(IdLine::isFinalizationNote) ||
+                photoCategories.stream().anyMatch(e -> e.getCategory().equalsIgnoreCase("FINAL"));
+    }
+    
+    public int getPhotoCount() {
+        return photoCategories.stream().mapToInt(e -> e.getPhotos().size()).sum();
+    }
+    
+    public List<String> getLocation() {
+        List<String> location = new ArrayList<>();
+        boolean inLocation = false;
+        for (IdLine idLine : idLines) {
+            if (idLine.getText().isEmpty()) {
+                if (inLocation) {
+                    break;
+                }
+                inLocation = true;
+                continue;
+            }
+            if (inLocation) {
+                if (idLine.getCoordinates() != null) {
+                    break;
+                }
+                location.add(idLine.getText());
+            }
+        }
+        return location;
+    }
+    
+    
+    //Getters
+    
+    public File getDirectory() {
+        return directory;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public boolean isFavorite() {
+        return favorite;
+    }
+    
+    public boolean isIdPresent() {
+        return idPresent;
+    }
+    
+    public List<IdLine> getIdLines() {
+        return idLines;
+    }
+    
+    public String getBugGuideUrl() {
+        return bugGuideUrl;
+    }
+    
+    public boolean isTaxonomyPresent() {
+        return taxonomyPresent;
+    }
+    
+    public List<TaxonomyRank> getTaxonomy() {
+        return taxonomy;
+    }
+    
+    public boolean isPhotosPresent() {
+        return photosPresent;
+    }
+    
+    public List<PhotoCategory> getPhotoCategories() {
+        return photoCategories;
+    }
+    
+    public boolean isReferencesPresent() {
+        return referencesPresent;
+    }
+    
+    public Map<String, String> getReferences() {
+        return references;
+    }
+    
+    
+    //Inner Classes
+    
+    public static final class IdLine {
+        
+        private final String text;
+        
+        private final List<String> references;
+        
+        private final Coordinates coordinates;
+        
+        private final boolean finalizationNote;
+        
+        IdLine(String text, List<String> references, Coordinates coordinates, boolean finalizationNote) {
+            this.text = text;
+            this.references = Collections.unmodifiableList(references);
+            this.coordinates = coordinates;
+            this.finalizationNote = finalizationNote;
+        }
+        
+        public String getText() {
+            return text;
+        }
+        
+        public List<String> getReferences() {
+            return references;
+        }
+        
+        public Coordinates getCoordinates() {
+            return coordinates;
+        }
+        
+        public boolean isFinalizationNote() {
+            return finalizationNote;
+        }
+        
+    }
+    
+    public static final class Coordinates {
+        
+        private final String latitudeText;
+        
+        private final String longitudeText;
+        
+        private final double latitude;
+        
+        private final double longitude;
+        
+        private final String elevation;
+        
+        Coordinates(String latitudeText, String longitudeText, String elevation) {
+            this.latitudeText = latitudeText;
+            this.longitudeText = longitudeText;
+            this.latitude = Double.parseDouble(latitudeText);
+            this.longitude = Double.parseDouble(longitudeText);
+            this.elevation = elevation;
+        }
+        
+        public String getLatitudeText() {
+            return latitudeText;
+        }
+        
+        public String getLongitudeText() {
+            return longitudeText;
+        }
+        
+        public double getLatitude() {
+            return latitude;
+        }
+        
+        public double getLongitude() {
+            return longitude;
+        }
+        
+        public String getElevation() {
+            return elevation;
+        }
+        
+    }
+    
+    public static final class TaxonomyRank {
+        
+        private final String line;
+        
+        private final String key;
+        
+        private final String value;
+        
+        private final String description;
+        
+        private final boolean noTaxon;
+        
+        TaxonomyRank(String line, String key, String value, String description, boolean noTaxon) {
+            this.line = line;
+            this.key = key;
+            this.value = value;
+            this.description = description;
+            this.noTaxon = noTaxon;
+        }
+        
+        public boolean isValid() {
+            return !noTaxon && !value.isEmpty();
+        }
+        
+        public String getLine() {
+            return line;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        public String getDescription() {
+            return description;
+        }
+        
+        public boolean isNoTaxon() {
+            return noTaxon;
+        }
+        
+    }
+    
+    public static final class PhotoCategory {
+        
+        private final File directory;
+        
+        private final int index;
+        
+        private final String category;
+        
+        private final boolean validName;
+        
+        private final List<File> photos;
+        
+        PhotoCategory(File directory, int index, String category, boolean validName, List<File> photos) {
+            this.directory = directory;
+            this.index = index;
+            this.category = category;
+            this.validName = validName;
+            this.photos = Collections.unmodifiableList(photos);
+        }
+        
+        public File getDirectory() {
+            return directory;
+        }
+        
+        public int getIndex() {
+            return index;
+        }
+        
+        public String getCategory() {
+            return category;
+        }
+        
+        public boolean isValidName() {
+            return validName;
+        }
+        
+        public List<File> getPhotos() {
+            return photos;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,398 @@
+/*
+ * File:    SpecimenCatalog.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import commons.access.Filesystem;
+
+public class SpecimenCatalog {
+    
+    //Constants
+    
+    private static final int catalogVersion = 3;
+    
+    
+    //Fields
+    
+    private final File resources;
+    
+    private final File catalogFile;
+    
+    private final Map<String, Listing> listings = new LinkedHashMap<>();
+    
+    private final Map<String, CatalogEntry> catalog = new LinkedHashMap<>();
+    
+    private boolean dirty = false;
+    
+    
+    //Constructors
+    
+    public SpecimenCatalog(File resources) {
+        this.resources = resources;
+        this.catalogFile = new File(resources, "specimenCatalog.bin");
+    }
+    
+    public SpecimenCatalog() {
+        this(new File("resources"));
+    }
+    
+    
+    //Methods
+    
+    public synchronized void loadCatalog() {
+        listings.clear();
+        catalog.clear();
+        dirty = false;
+        
+        if (!catalogFile.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(catalogFile.toPath())))) {
+            if (in.readInt() != catalogVersion) {
+                return;
+            }
+            
+            int listingCount = in.readInt();
+            for (int i = 0; i < listingCount; i++) {
+                Stamp stamp = readStamp(in);
+                listings.put(stamp.path, new Listing(stamp, readStrings(in)));
+            }
+            
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                int stampCount = in.readInt();
+                List<Stamp> stamps = new ArrayList<>(stampCount);
+                for (int j = 0; j < stampCount; j++) {
+                    stamps.add(readStamp(in));
+                }
+                Specimen specimen = readSpecimen(in);
+                catalog.put(specimen.getDirectory().getAbsolutePath(), new CatalogEntry(stamps, specimen));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Specimen catalog could not be read, rebuilding: " + e.getMessage());
+            listings.clear();
+            catalog.clear();
+            dirty = true;
+        }
+    }
+    
+    public synchronized void saveCatalog() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        
+        if (!resources.exists()) {
+            Filesystem.createDirectory(resources);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(catalogFile.toPath())))) {
+            out.writeInt(catalogVersion);
+            
+            out.writeInt(listings.size());
+            for (Listing listing : listings.values()) {
+                writeStamp(out, listing.stamp);
+                writeStrings(out, listing.names);
+            }
+            
+            out.writeInt(catalog.size());
+            for (CatalogEntry entry : catalog.values()) {
+                out.writeInt(entry.stamps.size());
+                for (Stamp stamp : entry.stamps) {
+                    writeStamp(out, stamp);
+                }
+                writeSpecimen(out, entry.specimen);
+            }
+        }
+        dirty = false;
+    }
+    
+    public synchronized List<File> getSpecimenDirs(File specimensSource) {
+        Listing listing = listings.get(specimensSource.getAbsolutePath());
+        if ((listing == null) || !listing.stamp.isValid()) {
+            Stamp stamp = new Stamp(specimensSource);
+            List<String> names = new ArrayList<>();
+            SpecimenIds.getSpecimenDirs(specimensSource).forEach(e -> names.add(e.getName()));
+            listing = new Listing(stamp, names);
+            listings.put(stamp.path, listing);
+            dirty = true;
+        }
+        
+        List<File> specimenDirs = new ArrayList<>(listing.names.size());
+        listing.names.forEach(e -> specimenDirs.add(new File(specimensSource, e)));
+        return specimenDirs;
+    }
+    
+    public List<Specimen> getSpecimens(File specimensSource) {
+        List<File> specimenDirs = getSpecimenDirs(specimensSource);
+        List<Specimen> specimens = new ArrayList<>(specimenDirs.size());
+        for (File specimenDir : specimenDirs) {
+            specimens.add(getSpecimen(specimenDir));
+        }
+        pruneSpecimens(specimensSource);
+        return specimens;
+    }
+    
+    public Specimen getSpecimen(File specimenDir) {
+        String specimenPath = specimenDir.getAbsolutePath();
+        CatalogEntry entry;
+        synchronized (this) {
+            entry = catalog.get(specimenPath);
+        }
+        if ((entry != null) && entry.stamps.stream().allMatch(Stamp::isValid)) {
+            return entry.specimen;
+        }
+        
+        List<Stamp> stamps = stampSpecimen(specimenDir);
+        Specimen specimen = SpecimenParser.parse(specimenDir);
+        synchronized (this) {
+            catalog.put(specimenPath, new CatalogEntry(stamps, specimen));
+            dirty = true;
+        }
+        return specimen;
+    }
+    
+    public synchronized void pruneSpecimens(File specimensSource) {
+        Set<String> specimenPaths = new HashSet<>();
+        getSpecimenDirs(specimensSource).forEach(e -> specimenPaths.add(e.getAbsolutePath()));
+        
+        String sourcePath = specimensSource.getAbsolutePath();
+        if (catalog.keySet().removeIf(e -> new File(e).getParent().equals(sourcePath) && !specimenPaths.contains(e))) {
+            dirty = true;
+        }
+    }
+    
+    
+    //Functions
+    
+    private static List<Stamp> stampSpecimen(File specimenDir) {
+        List<Stamp> stamps = new ArrayList<>();
+        stamps.add(new Stamp(specimenDir));
+        stamps.add(new Stamp(new File(specimenDir, "favorite.txt")));
+        stamps.add(new Stamp(new File(specimenDir, "id.txt")));
+        stamps.add(new Stamp(new File(specimenDir, "BugGuide Submission.url")));
+        stamps.add(new Stamp(new File(specimenDir, "taxonomy.txt")));
+        
+        File photosDir = new File(specimenDir, "Photos");
+        stamps.add(new Stamp(photosDir));
+        if (photosDir.exists()) {
+            SortedTraversal.getDirs(photosDir).forEach(e -> stamps.add(new Stamp(e)));
+        }
+        
+        File referenceDir = new File(specimenDir, "Reference");
+        stamps.add(new Stamp(referenceDir));
+        if (referenceDir.exists()) {
+            SortedTraversal.getFiles(referenceDir).forEach(e -> stamps.add(new Stamp(e)));
+        }
+        return stamps;
+    }
+    
+    private static void writeSpecimen(DataOutputStream out, Specimen specimen) throws IOException {
+        out.writeUTF(specimen.getDirectory().getAbsolutePath());
+        out.writeUTF(specimen.getId());
+        out.writeBoolean(specimen.isFavorite());
+        
+        out.writeBoolean(specimen.isIdPresent());
+        out.writeInt(specimen.getIdLines().size());
+        for (Specimen.IdLine idLine : specimen.getIdLines()) {
+            out.writeUTF(idLine.getText());
+            writeStrings(out, idLine.getReferences());
+            Specimen.Coordinates coordinates = idLine.getCoordinates();
+            out.writeBoolean(coordinates != null);
+            if (coordinates != null) {
+                out.writeUTF(coordinates.getLatitudeText());
+                out.writeUTF(coordinates.getLongitudeText());
+                out.writeUTF(coordinates.getElevation());
+            }
+            out.writeBoolean(idLine.isFinalizationNote());
+        }
+        writeNullableString(out, specimen.getBugGuideUrl());
+        
+        out.writeBoolean(specimen.isTaxonomyPresent());
+        out.writeInt(specimen.getTaxonomy().size());
+        for (Specimen.TaxonomyRank taxonomyRank : specimen.getTaxonomy()) {
+            out.writeUTF(taxonomyRank.getLine());
+            out.writeUTF(taxonomyRank.getKey());
+            out.writeUTF(taxonomyRank.getValue());
+            out.writeUTF(taxonomyRank.getDescription());
+            out.writeBoolean(taxonomyRank.isNoTaxon());
+        }
+        
+        out.writeBoolean(specimen.isPhotosPresent());
+        out.writeInt(specimen.getPhotoCategories().size());
+        for (Specimen.PhotoCategory photoCategory : specimen.getPhotoCategories()) {
+            out.writeUTF(photoCategory.getDirectory().getName());
+            out.writeInt(photoCategory.getIndex());
+            out.writeUTF(photoCategory.getCategory());
+            out.writeBoolean(photoCategory.isValidName());
+            List<String> photoNames = new ArrayList<>();
+            photoCategory.getPhotos().forEach(e -> photoNames.add(e.getName()));
+            writeStrings(out, photoNames);
+        }
+        
+        out.writeBoolean(specimen.isReferencesPresent());
+        out.writeInt(specimen.getReferences().size());
+        for (Map.Entry<String, String> reference : specimen.getReferences().entrySet()) {
+            out.writeUTF(reference.getKey());
+            out.writeUTF(reference.getValue());
+        }
+    }
+    
+    private static Specimen readSpecimen(DataInputStream in) throws IOException {
+        File directory = new File(in.readUTF());
+        String id = in.readUTF();
+        boolean favorite = in.readBoolean();
+        
+        boolean idPresent = in.readBoolean();
+        int idLineCount = in.readInt();
+        List<Specimen.IdLine> idLines = new ArrayList<>(idLineCount);
+        for (int i = 0; i < idLineCount; i++) {
+            String text = in.readUTF();
+            List<String> references = readStrings(in);
+            Specimen.Coordinates coordinates = in.readBoolean() ?
+                    new Specimen.Coordinates(in.readUTF(), in.readUTF(), in.readUTF()) : null;
+            idLines.add(new Specimen.IdLine(text, references, coordinates, in.readBoolean()));
+        }
+        String bugGuideUrl = readNullableString(in);
+        
+        boolean taxonomyPresent = in.readBoolean();
+        int taxonomyCount = in.readInt();
+        List<Specimen.TaxonomyRank> taxonomy = new ArrayList<>(taxonomyCount);
+        for (int i = 0; i < taxonomyCount; i++) {
+            taxonomy.add(new Specimen.TaxonomyRank(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readBoolean()));
+        }
+        
+        boolean photosPresent = in.readBoolean();
+        int photoCategoryCount = in.readInt();
+        List<Specimen.PhotoCategory> photoCategories = new ArrayList<>(photoCategoryCount);
+        for (int i = 0; i < photoCategoryCount; i++) {
+            File photoSubDir = new File(new File(directory, "Photos"), in.readUTF());
+            int index = in.readInt();
+            String category = in.readUTF();
+            boolean validName = in.readBoolean();
+            List<File> photos = new ArrayList<>();
+            readStrings(in).forEach(e -> photos.add(new File(photoSubDir, e)));
+            photoCategories.add(new Specimen.PhotoCategory(photoSubDir, index, category, validName, photos));
+        }
+        
+        boolean referencesPresent = in.readBoolean();
+        int referenceCount = in.readInt();
+        Map<String, String> references = new LinkedHashMap<>();
+        for (int i = 0; i < referenceCount; i++) {
+            references.put(in.readUTF(), in.readUTF());
+        }
+        
+        return new Specimen(directory, id, favorite,
+                idPresent, idLines, bugGuideUrl,
+                taxonomyPresent, taxonomy,
+                photosPresent, photoCategories,
+                referencesPresent, references);
+    }
+    
+    private static void writeStamp(DataOutputStream out, Stamp stamp) throws IOException {
+        out.writeUTF(stamp.path);
+        out.writeLong(stamp.size);
+        out.writeLong(stamp.lastModified);
+    }
+    
+    private static Stamp readStamp(DataInputStream in) throws IOException {
+        return new Stamp(in.readUTF(), in.readLong(), in.readLong());
+    }
+    
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+    
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+    
+    private static void writeNullableString(DataOutputStream out, String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+    
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+    
+    
+    //Inner Classes
+    
+    private static class Stamp {
+        
+        final String path;
+        
+        final long size;
+        
+        final long lastModified;
+        
+        Stamp(File file) {
+            this(file.getAbsolutePath(), file.length(), file.lastModified());
+        }
+        
+        Stamp(String path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+        
+        boolean isValid() {
+            File file = new File(path);
+            return (file.lastModified() == lastModified) && (file.length() == size);
+        }
+        
+    }
+    
+    private static class Listing {
+        
+        final Stamp stamp;
+        
+        final List<String> names;
+        
+        Listing(Stamp stamp, List<String> names) {
+            this.stamp = stamp;
+            this.names = names;
+        }
+        
+    }
+    
+    private static class CatalogEntry {
+        
+        final List<Stamp> stamps;
+        
+        final Specimen specimen;
+        
+        CatalogEntry(List<Stamp> stamps, Specimen specimen) {
+            this.stamps = stamps;
+            this.specimen = specimen;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,51 @@
+/*
+ * File:    SpecimenIds.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.List;
+
+import commons.access.Filesystem;
+import commons.string.StringUtility;
+
+public class SpecimenIds {
+    
+    //Constants
+    
+    private static final BigInteger shardSize = BigInteger.valueOf(100);
+    
+    private static final int shardWidth = 2;
+    
+    public static final Comparator<String> idOrder = Comparator.comparing((String id) -> new BigInteger(id)).thenComparing(Comparator.naturalOrder());
+    
+    public static final Comparator<File> specimenDirOrder = Comparator.comparing(SpecimenIds::getId, idOrder).thenComparing(SortedTraversal.fileOrder);
+    
+    
+    //Functions
+    
+    public static List<File> getSpecimenDirs(File specimensSource) {
+        List<File> specimenDirs = Filesystem.getDirs(specimensSource);
+        specimenDirs.sort(specimenDirOrder);
+        return specimenDirs;
+    }
+    
+    public static String getId(File specimenDir) {
+        String name = specimenDir.getName();
+        return StringUtility.trim(name.substring(0, name.indexOf('-')));
+    }
+    
+    public static String getShard(String id) {
+        return StringUtility.padZero(new BigInteger(id).divide(shardSize).toString(), shardWidth);
+    }
+    
+    public static String getPath(String id) {
+        return getShard(id) + '/' + id;
+    }
+    
+}
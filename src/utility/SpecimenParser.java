@@ -0,0 +1,159 @@
+/*
+ * File:    SpecimenParser.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import commons.access.Filesystem;
+import commons.string.StringUtility;
+
+public class SpecimenParser {
+    
+    //Constants
+    
+    private static final Pattern referencePattern = Pattern.compile("#(?<id>\\d{4,})");
+    
+    private static final Pattern coordinatesPattern = Pattern.compile("^(?<latitude>-?\\d+\\.\\d+)\\s(?<longitude>-?\\d+\\.\\d+),\\s(?<elevation>\\d+m)$");
+    
+    private static final Pattern finalizationPattern = Pattern.compile("(?:(?:LOST|DESTROYED)\\s(?:BEFORE|DURING|WHILE|AFTER))|(?:REPLACED\\s(?:WITH|BY))", Pattern.CASE_INSENSITIVE);
+    
+    private static final Pattern taxonomyPattern = Pattern.compile("^(?<key>\\S+)\\s+(?<value>[^(]*)(?<description>.*)$");
+    
+    private static final Pattern photoDirPattern = Pattern.compile("^(?<index>\\d)\\s-\\s(?<category>.+)$");
+    
+    
+    //Functions
+    
+    public static List<Specimen> parseAll(File specimensSource) {
+        List<Specimen> specimens = new ArrayList<>();
+        for (File specimenDir : SpecimenIds.getSpecimenDirs(specimensSource)) {
+            specimens.add(parse(specimenDir));
+        }
+        return specimens;
+    }
+    
+    public static Specimen parse(File specimenDir) {
+        String id = SpecimenIds.getId(specimenDir);
+        
+        boolean favorite = new File(specimenDir, "favorite.txt").exists();
+        
+        File idFile = new File(specimenDir, "id.txt");
+        boolean idPresent = idFile.exists() && (idFile.length() > 0);
+        List<Specimen.IdLine> idLines = idPresent ? parseIdLines(Filesystem.readLines(idFile)) : new ArrayList<>();
+        
+        File bugGuide = new File(specimenDir, "BugGuide Submission.url");
+        String bugGuideUrl = bugGuide.exists() ? ResourceUtility.getUrlFromShortcut(bugGuide) : null;
+        
+        File taxonomyFile = new File(specimenDir, "taxonomy.txt");
+        boolean taxonomyPresent = taxonomyFile.exists();
+        List<Specimen.TaxonomyRank> taxonomy = taxonomyPresent ? parseTaxonomy(Filesystem.readLines(taxonomyFile)) : new ArrayList<>();
+        
+        File photosDir = new File(specimenDir, "Photos");
+        boolean photosPresent = photosDir.exists();
+        List<Specimen.PhotoCategory> photoCategories = photosPresent ? parsePhotoCategories(photosDir) : new ArrayList<>();
+        
+        File referenceDir = new File(specimenDir, "Reference");
+        boolean referencesPresent = referenceDir.exists();
+        Map<String, String> references = referencesPresent ? parseReferences(referenceDir) : new LinkedHashMap<>();
+        
+        return new Specimen(specimenDir, id, favorite,
+                idPresent, idLines, bugGuideUrl,
+                taxonomyPresent, taxonomy,
+                photosPresent, photoCategories,
+                referencesPresent, references);
+    }
+    
+    public static List<Specimen.IdLine> parseIdLines(List<String> lines) {
+        List<Specimen.IdLine> idLines = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            List<String> references = new ArrayList<>();
+            Matcher referenceMatcher = referencePattern.matcher(line);
+            while (referenceMatcher.find()) {
+                references.add(referenceMatcher.group("id"));
+            }
+            
+            Specimen.Coordinates coordinates = null;
+            Matcher coordinatesMatcher = coordinatesPattern.matcher(line);
+            if (coordinatesMatcher.matches()) {
+                coordinates = new Specimen.Coordinates(coordinatesMatcher.group("latitude"),
+                        coordinatesMatcher.group("longitude"), coordinatesMatcher.group("elevation"));
+            }
+            
+            boolean finalizationNote = finalizationPattern.matcher(line).find();
+            idLines.add(new Specimen.IdLine(line, references, coordinates, finalizationNote));
+        }
+        return idLines;
+    }
+    
+    public static List<Specimen.TaxonomyRank> parseTaxonomy(List<String> lines) {
+        List<Specimen.TaxonomyRank> taxonomy = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            
+            String key = StringUtility.trim(line);
+            String value = "";
+            String description = "";
+            Matcher taxonomyMatcher = taxonomyPattern.matcher(line);
+            if (taxonomyMatcher.matches()) {
+                key = taxonomyMatcher.group("key");
+                value = StringUtility.trim(taxonomyMatcher.group("value"));
+                description = StringUtility.trim(taxonomyMatcher.group("description"));
+            }
+            
+            boolean noTaxon = line.regionMatches(true, 0, "NO TAXON", 0, 8);
+            taxonomy.add(new Specimen.TaxonomyRank(line, key, value, description, noTaxon));
+        }
+        return taxonomy;
+    }
+    
+    private static List<Specimen.PhotoCategory> parsePhotoCategories(File photosDir) {
+        List<Specimen.PhotoCategory> photoCategories = new ArrayList<>();
+        for (File photoSubDir : SortedTraversal.getDirs(photosDir)) {
+            int index = -1;
+            String category = photoSubDir.getName();
+            Matcher photoDirMatcher = photoDirPattern.matcher(photoSubDir.getName());
+            boolean validName = photoDirMatcher.matches();
+            if (validName) {
+                index = Integer.parseInt(photoDirMatcher.group("index"));
+                category = photoDirMatcher.group("category");
+            }
+            
+            photoCategories.add(new Specimen.PhotoCategory(photoSubDir, index, category, validName, SortedTraversal.getFiles(photoSubDir)));
+        }
+        return photoCategories;
+    }
+    
+    private static Map<String, String> parseReferences(File referenceDir) {
+        List<File> referenceFiles = SortedTraversal.getFiles(referenceDir);
+        Map<String, String> references = new LinkedHashMap<>();
+        for (File referenceFile : referenceFiles) {
+            if (referenceFile.getName().toUpperCase().contains("BUGGUIDE")) {
+                references.putIfAbsent(referenceFile.getName(), ResourceUtility.getUrlFromShortcut(referenceFile));
+            }
+        }
+        for (File referenceFile : referenceFiles) {
+            if (!referenceFile.getName().toUpperCase().contains("BUGGUIDE") && !referenceFile.getName().toUpperCase().contains("WIKIPEDIA")) {
+                references.putIfAbsent(referenceFile.getName(), ResourceUtility.getUrlFromShortcut(referenceFile));
+            }
+        }
+        for (File referenceFile : referenceFiles) {
+            if (referenceFile.getName().toUpperCase().contains("WIKIPEDIA")) {
+                references.putIfAbsent(referenceFile.getName(), ResourceUtility.getUrlFromShortcut(referenceFile));
+            }
+        }
+        return references;
+    }
+    
+}
@@ -0,0 +1,129 @@
+/*
+ * File:    SpecimenValidator.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SpecimenValidator {
+    
+    //Constants
+    
+    public static final List<String> rules = List.of(
+            "missingId", "missingTaxonomy", "invalidTaxonomy",
+            "missingPhotoDirectory", "invalidPhotoDirectory", "invalidPhotoCategory", "emptyPhotoDirectory",
+            "taxonomyDescriptionMismatch", "notFinalized");
+    
+    public static final Set<String> warningRules = Set.of("notFinalized");
+    
+    
+    //Functions
+    
+    public static List<Finding> validateSpecimen(Specimen specimen, List<String> categories) {
+        List<Finding> findings = new ArrayList<>();
+        String id = specimen.getId();
+        
+        if (!specimen.isIdPresent()) {
+            findings.add(new Finding("missingId", id, "Missing ID: " + id));
+        }
+        
+        if (!specimen.isTaxonomyPresent()) {
+            findings.add(new Finding("missingTaxonomy", id, "Missing Taxonomy: " + id));
+        } else {
+            for (Specimen.TaxonomyRank taxonomyRank : specimen.getTaxonomy()) {
+                if (!taxonomyRank.isValid()) {
+                    findings.add(new Finding("invalidTaxonomy", id, "Taxonomy Invalid: " + id));
+                }
+            }
+        }
+        
+        if (!specimen.isPhotosPresent()) {
+            findings.add(new Finding("missingPhotoDirectory", id, "Missing Photo directory: " + id));
+        } else {
+            int photoSubDirIndex = 0;
+            for (Specimen.PhotoCategory photoCategory : specimen.getPhotoCategories()) {
+                String photoDirName = photoCategory.getDirectory().getName();
+                if (!photoCategory.isValidName()) {
+                    findings.add(new Finding("invalidPhotoDirectory", id, "Photo directory: " + photoDirName + " is invalid for: " + id));
+                }
+                if (!categories.contains(photoCategory.getCategory()) || (photoCategory.getIndex() != photoSubDirIndex)) {
+                    findings.add(new Finding("invalidPhotoCategory", id, "Photo directory name: " + photoCategory.getCategory() + " is invalid for: " + id));
+                }
+                if (photoCategory.getPhotos().isEmpty()) {
+                    findings.add(new Finding("emptyPhotoDirectory", id, "Photo directory: " + photoDirName + " is empty for: " + id));
+                }
+                photoSubDirIndex++;
+            }
+        }
+        
+        if (!specimen.isFinalized()) {
+            findings.add(new Finding("notFinalized", id, "Not Finalized: " + specimen.getName()));
+        }
+        return findings;
+    }
+    
+    public static List<Finding> validateTaxonomyDescriptions(List<Specimen> specimens) {
+        List<Finding> findings = new ArrayList<>();
+        Map<String, String> taxonomyDescriptionMap = new HashMap<>();
+        for (Specimen specimen : specimens) {
+            for (Specimen.TaxonomyRank taxonomyRank : specimen.getTaxonomy()) {
+                String key = taxonomyRank.getKey();
+                if (key.equals("Species") || key.equals("Subspecies")) {
+                    continue;
+                }
+                
+                String value = taxonomyRank.getValue();
+                String description = taxonomyRank.getDescription();
+                String previous = taxonomyDescriptionMap.putIfAbsent(value, description);
+                if ((previous != null) && !previous.equals(description)) {
+                    findings.add(new Finding("taxonomyDescriptionMismatch", specimen.getId(),
+                            "Taxonomy description for: " + specimen.getName() + " - " + value + " " + description + " does not match " + previous));
+                }
+            }
+        }
+        return findings;
+    }
+    
+    
+    //Inner Classes
+    
+    public static class Finding {
+        
+        private final String rule;
+        
+        private final String specimen;
+        
+        private final String message;
+        
+        public Finding(String rule, String specimen, String message) {
+            this.rule = rule;
+            this.specimen = specimen;
+            this.message = message;
+        }
+        
+        public String getRule() {
+            return rule;
+        }
+        
+        public String getSpecimen() {
+            return specimen;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public boolean isWarning() {
+            return warningRules.contains(rule);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,207 @@
+/*
+ * File:    SiteBuilderPipelineTest.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.simple.JSONValue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utility.CloudinaryUtility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SiteBuilderPipelineTest {
+    
+    //Constants
+    
+    private static final Pattern uploadedContentPattern = Pattern.compile("\r\n\r\n(?<content>\\d{4}\\w+\\.jpg)\n");
+    
+    private static final int specimenCount = 20;
+    
+    private static final int queueCapacity = 2;
+    
+    private static final int uploadThreads = 1;
+    
+    
+    //Static Fields
+    
+    private static HttpServer uploadServer;
+    
+    private static final AtomicInteger uploads = new AtomicInteger();
+    
+    private static volatile CountDownLatch heldUpload;
+    
+    private static volatile String failingUpload;
+    
+    
+    //Setup
+    
+    @BeforeAll
+    public static void startUploadServer() throws IOException {
+        uploadServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        uploadServer.createContext("/", SiteBuilderPipelineTest::handleUpload);
+        uploadServer.setExecutor(Executors.newCachedThreadPool());
+        uploadServer.start();
+        System.setProperty(CloudinaryUtility.uploadPrefixProperty, "http://127.0.0.1:" + uploadServer.getAddress().getPort());
+    }
+    
+    @AfterAll
+    public static void stopUploadServer() {
+        uploadServer.stop(0);
+        System.clearProperty(CloudinaryUtility.uploadPrefixProperty);
+    }
+    
+    @BeforeEach
+    public void resetUploadServer() {
+        uploads.set(0);
+        heldUpload = null;
+        failingUpload = null;
+    }
+    
+    
+    //Tests
+    
+    @Test
+    public void uploadsAreAppliedToTheirOwnSpecimens(@TempDir File root) throws Exception {
+        SiteConfig config = makeUploadConfig(root);
+        
+        SiteFixture.build(config);
+        
+        assertEquals(specimenCount * 2, uploads.get());
+        for (int i = 0; i < specimenCount; i++) {
+            String id = String.format("%04d", i);
+            String content = Files.readString(new File(config.getSink(), "specimens/00/" + id + "/content.html").toPath());
+            assertTrue(content.contains("/image/upload/v1/" + id + "Alivea.jpg\""), id);
+            assertTrue(content.contains("/image/upload/v1/" + id + "Aliveb.jpg\""), id);
+            assertEquals(4, content.split("/image/upload/v1/\\d{4}").length - 1, id);
+        }
+    }
+    
+    @Test
+    public void slowUploadsApplyBackpressure(@TempDir File root) throws Exception {
+        SiteConfig config = makeUploadConfig(root);
+        File specimensSource = config.getSpecimensSource();
+        heldUpload = new CountDownLatch(1);
+        
+        ExecutorService buildThread = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> build = buildThread.submit(() -> SiteFixture.build(config));
+            TimeUnit.MILLISECONDS.sleep(1000);
+            
+            int resolvedPhotos = countResolvedPhotos(specimensSource);
+            assertTrue(resolvedPhotos >= 1);
+            assertTrue(resolvedPhotos <= (uploadThreads + queueCapacity + 1), "resolved " + resolvedPhotos + " photos while uploads were held");
+            assertEquals(1, uploads.get());
+            
+            heldUpload.countDown();
+            build.get(30, TimeUnit.SECONDS);
+        } finally {
+            heldUpload.countDown();
+            buildThread.shutdownNow();
+        }
+        
+        assertEquals(specimenCount * 2, countResolvedPhotos(specimensSource));
+        assertEquals(specimenCount * 2, uploads.get());
+    }
+    
+    @Test
+    public void failedUploadFailsTheBuild(@TempDir File root) throws Exception {
+        SiteConfig config = makeUploadConfig(root);
+        failingUpload = "0007Aliveb.jpg";
+        
+        Exception error = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> assertThrows(Exception.class, () -> SiteFixture.build(config)));
+        
+        boolean found = false;
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            found |= (cause.getMessage() != null) && cause.getMessage().contains("Upload rejected: " + failingUpload);
+        }
+        assertTrue(found, "upload failure was not propagated: " + error);
+        assertTrue(!new File(config.getSink(), "specimens/00/0007/content.html").exists());
+    }
+    
+    
+    //Functions
+    
+    private static SiteConfig makeUploadConfig(File root) throws IOException {
+        SiteFixture fixture = new SiteFixture(root);
+        for (int i = 0; i < specimenCount; i++) {
+            String id = String.format("%04d", i);
+            File photoDir = new File(fixture.addSpecimen(id, "Beetle " + id, false, "Alive"), "Photos/0 - Alive");
+            for (String photo : List.of("a", "b")) {
+                Files.move(new File(photoDir, photo + ".jpg").toPath(), new File(photoDir, photo + ".JPG").toPath());
+            }
+        }
+        
+        SiteConfig config = fixture.makeConfig("site");
+        SiteFixture.write(new File(config.getResources(), "imageReferences.csv"), "");
+        config.setPipelineQueueCapacity(queueCapacity);
+        config.setUploadThreads(uploadThreads);
+        config.setParallelBuild(true);
+        config.setRenderThreads(4);
+        return config;
+    }
+    
+    private static int countResolvedPhotos(File specimensSource) throws IOException {
+        return (int) SiteFixture.listTree(specimensSource).stream().filter(e -> e.endsWith(".jpg")).count();
+    }
+    
+    private static void handleUpload(HttpExchange exchange) throws IOException {
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+        }
+        uploads.incrementAndGet();
+        
+        CountDownLatch hold = heldUpload;
+        if (hold != null) {
+            try {
+                hold.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        Matcher contentMatcher = uploadedContentPattern.matcher(body);
+        String content = contentMatcher.find() ? contentMatcher.group("content") : "";
+        boolean failed = content.equals(failingUpload);
+        String response = failed ?
+                JSONValue.toJSONString(Map.of("error", Map.of("message", "Upload rejected: " + content))) :
+                JSONValue.toJSONString(Map.of("url", "http://res.cloudinary.com/specimens/image/upload/v1/" + content, "public_id", content));
+        
+        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(failed ? 400 : 200, responseBytes.length);
+        exchange.getResponseBody().write(responseBytes);
+        exchange.close();
+    }
+    
+}
@@ -0,0 +1,88 @@
+/*
+ * File:    SiteBuilderTest.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utility.SpecimenIds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SiteBuilderTest {
+    
+    //Constants
+    
+    private static final FileTime previousBuildTime = FileTime.fromMillis(1000000000000L);
+    
+    
+    //Tests
+    
+    @Test
+    public void parallelBuildMatchesSequentialBuild(@TempDir File root) throws Exception {
+        SiteFixture fixture = SiteFixture.makeStandard(root);
+        for (int i = 6; i < 40; i++) {
+            String id = String.format("%04d", i);
+            File specimenDir = fixture.addSpecimen(id, "Beetle " + id, (i % 5) == 0, "Alive", ((i % 4) == 0) ? "Bogus" : "Final");
+            if ((i % 7) == 0) {
+                Files.delete(new File(specimenDir, "taxonomy.txt").toPath());
+            }
+        }
+        
+        SiteConfig sequential = fixture.makeConfig("sequential");
+        String sequentialLog = SiteFixture.build(sequential);
+        
+        SiteConfig parallel = fixture.makeConfig("parallel");
+        parallel.setParallelBuild(true);
+        parallel.setRenderThreads(4);
+        String parallelLog = SiteFixture.build(parallel);
+        
+        SiteFixture.assertSameTree(sequential.getSink(), parallel.getSink());
+        assertEquals(sequentialLog, parallelLog);
+        assertTrue(sequentialLog.startsWith("Missing Taxonomy: 0007" + System.lineSeparator() +
+                "Photo directory name: Bogus is invalid for: 0008" + System.lineSeparator()));
+    }
+    
+    @Test
+    public void incrementalBuildSkipsUnchangedSpecimens(@TempDir File root) throws Exception {
+        SiteFixture fixture = SiteFixture.makeStandard(root);
+        SiteConfig incremental = fixture.makeConfig("incremental");
+        incremental.setIncrementalBuild(true);
+        SiteFixture.build(incremental);
+        
+        List<String> ids = List.of("0000", "0001", "0002", "0003", "0004", "0005");
+        for (String id : ids) {
+            Files.setLastModifiedTime(getContentPage(incremental, id).toPath(), previousBuildTime);
+        }
+        File idFile = new File(fixture.getSpecimenDir("0003", "Green Beetle"), "id.txt");
+        SiteFixture.write(idFile, Files.readString(idFile.toPath()).replace("County", "Other County"));
+        SiteFixture.build(incremental);
+        
+        for (String id : ids) {
+            boolean rewritten = !Files.getLastModifiedTime(getContentPage(incremental, id).toPath()).equals(previousBuildTime);
+            assertEquals(id.equals("0003"), rewritten, id);
+        }
+        assertTrue(Files.readString(getContentPage(incremental, "0003").toPath()).contains("Other County"));
+        
+        SiteConfig full = fixture.makeConfig("full");
+        SiteFixture.build(full);
+        SiteFixture.assertSameTree(full.getSink(), incremental.getSink());
+    }
+    
+    
+    //Functions
+    
+    private static File getContentPage(SiteConfig config, String id) {
+        return new File(config.getSink(), "specimens/" + SpecimenIds.getPath(id) + "/content.html");
+    }
+    
+}
@@ -0,0 +1,166 @@
+/*
+ * File:    SiteFixture.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SiteFixture {
+    
+    //Constants
+    
+    public static final File repositoryResources = new File(System.getProperty("basedir", "../.."), "resources");
+    
+    
+    //Fields
+    
+    private final File root;
+    
+    private final File source;
+    
+    private final File resources;
+    
+    
+    //Constructors
+    
+    public SiteFixture(File root) throws IOException {
+        this.root = root;
+        this.source = new File(root, "source");
+        this.resources = new File(root, "resources");
+        
+        copyTree(new File(repositoryResources, "assets"), new File(resources, "assets"));
+        write(new File(resources, "imageReferences.csv"), "");
+        write(new File(resources, "vialRackReferences.csv"), "0.625 Dram/0.625Dram-x10.gcode,abc123\n");
+        
+        File references = new File(source, "References");
+        write(new File(references, "Books/Book One.url"), "[InternetShortcut]\nURL=https://a.example/1\n");
+        write(new File(references, "Other Site.url"), "[InternetShortcut]\nURL=https://a.example/2\n");
+        write(new File(source, "Vial Racks/0.625 Dram/0.625Dram-x10.gcode"), "g\n");
+    }
+    
+    
+    //Methods
+    
+    public File addSpecimen(String id, String name, boolean favorite, String... categories) throws IOException {
+        int number = Integer.parseInt(id);
+        File specimenDir = getSpecimenDir(id, name);
+        write(new File(specimenDir, "id.txt"),
+                name + "\nSome Classification\n\nUSA, State\nCounty\n40.123456 -75.654321, 120m\n\nSee #0001 for similar\n");
+        write(new File(specimenDir, "taxonomy.txt"),
+                "Kingdom Animalia (Animals)\nPhylum Arthropoda (Arthropods)\nClass Insecta (Insects)\nOrder Coleoptera (Beetles)\n" +
+                        "Family Family" + (number % 2) + " (Fam)\nGenus Genus" + (number % 3) + "\nSpecies Genus" + (number % 3) + " sp" + id + "\n");
+        if (favorite) {
+            write(new File(specimenDir, "favorite.txt"), "x\n");
+        }
+        
+        for (int i = 0; i < categories.length; i++) {
+            String photoDir = "Photos/" + i + " - " + categories[i];
+            for (String photo : List.of("a.jpg", "b.jpg")) {
+                write(new File(specimenDir, photoDir + "/" + photo), id + categories[i] + photo + "\n");
+                addImageReference(id + " - " + name + "/" + photoDir + "/" + photo, "v1/" + id + "/" + id + i + photo);
+            }
+        }
+        
+        write(new File(specimenDir, "Reference/BugGuide " + id + ".url"), "[InternetShortcut]\nURL=https://bugguide.net/" + id + "\n");
+        write(new File(specimenDir, "Reference/Wikipedia " + id + ".url"), "[InternetShortcut]\nURL=https://en.wikipedia.org/" + id + "\n");
+        return specimenDir;
+    }
+    
+    public void addImageReference(String imageKey, String reference) throws IOException {
+        Files.write(new File(resources, "imageReferences.csv").toPath(), (imageKey + "," + reference + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+    }
+    
+    public File getSpecimenDir(String id, String name) {
+        return new File(getSpecimensSource(), id + " - " + name);
+    }
+    
+    public File getSpecimensSource() {
+        return new File(source, "Specimens");
+    }
+    
+    public SiteConfig makeConfig(String name) throws IOException {
+        File buildDir = new File(root, name);
+        File buildResources = new File(buildDir, "resources");
+        copyTree(resources, buildResources);
+        
+        SiteConfig config = new SiteConfig(source, new File(buildDir, "Specimens"));
+        config.setResources(buildResources);
+        config.setDeterministicBuild(true);
+        return config;
+    }
+    
+    
+    //Functions
+    
+    public static SiteFixture makeStandard(File root) throws IOException {
+        SiteFixture fixture = new SiteFixture(root);
+        fixture.addSpecimen("0000", "Spiny Beetle", true, "From Store", "Final");
+        fixture.addSpecimen("0001", "Red Beetle", false, "Alive", "Dead");
+        fixture.addSpecimen("0002", "Blue Beetle", true, "Final");
+        fixture.addSpecimen("0003", "Green Beetle", false, "Alive", "Preparation", "Final");
+        fixture.addSpecimen("0004", "Gray Beetle", false, "Final");
+        fixture.addSpecimen("0005", "Black Beetle", true, "Dead", "Final");
+        return fixture;
+    }
+    
+    public static String build(SiteConfig config) throws Exception {
+        PrintStream err = System.err;
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(log, true, StandardCharsets.UTF_8));
+        try {
+            new SiteBuilder(config).build();
+        } finally {
+            System.setErr(err);
+        }
+        return log.toString(StandardCharsets.UTF_8);
+    }
+    
+    public static List<String> listTree(File dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir.toPath())) {
+            return paths.filter(Files::isRegularFile)
+                    .map(e -> dir.toPath().relativize(e).toString().replace("\\", "/"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    public static void assertSameTree(File expected, File actual) throws IOException {
+        List<String> expectedFiles = listTree(expected);
+        assertEquals(expectedFiles, listTree(actual));
+        for (String file : expectedFiles) {
+            assertArrayEquals(Files.readAllBytes(new File(expected, file).toPath()), Files.readAllBytes(new File(actual, file).toPath()), file);
+        }
+    }
+    
+    public static void write(File file, String content) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static void copyTree(File from, File to) throws IOException {
+        for (String file : listTree(from)) {
+            File target = new File(to, file);
+            Files.createDirectories(target.getParentFile().toPath());
+            Files.copy(new File(from, file).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+}
@@ -0,0 +1,36 @@
+/*
+ * File:    VerifyDeterministicBuildTest.java
+ * Package: tool
+ * Author:  Zachary Gill
+ */
+
+package tool;
+
+import java.io.File;
+
+import main.SiteConfig;
+import main.SiteFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VerifyDeterministicBuildTest {
+    
+    //Tests
+    
+    @Test
+    public void fixtureBuildsAreByteIdentical(@TempDir File root) throws Exception {
+        SiteFixture fixture = SiteFixture.makeStandard(root);
+        SiteConfig config = fixture.makeConfig("site");
+        config.setParallelBuild(true);
+        config.setRenderThreads(4);
+        File configFile = new File(root, "siteConfig.json");
+        config.save(configFile);
+        
+        assertEquals(0, VerifyDeterministicBuild.verify(configFile));
+        assertTrue(SiteFixture.listTree(config.getSink()).contains("specimens/00/0005/content.html"));
+    }
+    
+}
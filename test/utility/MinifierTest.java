@@ -0,0 +1,112 @@
+/*
+ * File:    MinifierTest.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MinifierTest {
+    
+    //Tests
+    
+    @Test
+    public void minifyHtmlCollapsesWhitespaceBetweenBlocks() {
+        String html = "<!DOCTYPE html>\n<html>\n\t<head>\n\t\t<title>  Specimens  </title>\n\t</head>\n" +
+                "\t<body>\n\t\t<p>\n\t\t\tA  <b>bold</b>   word\n\t\t</p>\n\t</body>\n</html>\n";
+        
+        assertEquals("<!DOCTYPE html><html><head><title>Specimens</title></head><body><p>A <b>bold</b> word</p></body></html>",
+                Minifier.minifyHtml(html));
+    }
+    
+    @Test
+    public void minifyHtmlKeepsVerbatimElements() {
+        String pre = "<pre>\n  line one\n\n    line two\n</pre>";
+        String textarea = "<textarea name=\"notes\">  a\n  b  </textarea>";
+        String script = "<script>\n\tvar a = '<p>  x  </p>';\n\t// comment\n</script>";
+        String style = "<style>\n\tp  {  color: red;  }\n</style>";
+        String html = "<body>\n\t" + pre + "\n\t" + textarea + "\n\t" + script + "\n\t" + style + "\n</body>";
+        
+        assertEquals("<body>" + pre + " " + textarea + script + style + "</body>", Minifier.minifyHtml(html));
+    }
+    
+    @Test
+    public void minifyHtmlKeepsConditionalComments() {
+        String conditional = "<!--[if lt IE 9]>\n\t<script src=\"html5shiv.js\"></script>\n<![endif]-->";
+        String html = "<head>\n\t<!-- a normal comment -->\n\t" + conditional + "\n</head>";
+        
+        assertEquals("<head>" + conditional + "</head>", Minifier.minifyHtml(html));
+    }
+    
+    @Test
+    public void minifyHtmlKeepsQuotedAttributes() {
+        String html = "<a href=\"a  b.html\" title='x > y'>  link  </a>";
+        
+        assertEquals("<a href=\"a  b.html\" title='x > y'> link </a>", Minifier.minifyHtml(html));
+    }
+    
+    @Test
+    public void minifyCssRemovesCommentsAndWhitespace() {
+        String css = "/* header */\nbody  {\n\tmargin: 0 auto;\n\tfont-family: \"Open  Sans\", sans-serif;\n}\n\nul > li  a:hover {\n\tcolor: red;\n}\n";
+        
+        assertEquals("body{margin:0 auto;font-family:\"Open  Sans\",sans-serif}ul>li a:hover{color:red}", Minifier.minifyCss(css));
+    }
+    
+    @Test
+    public void minifyCssKeepsCommentMarkersInStrings() {
+        String css = "a::after {\n\tcontent: \"/* not a comment */\";\n}\n";
+        
+        assertEquals("a::after{content:\"/* not a comment */\"}", Minifier.minifyCss(css));
+    }
+    
+    @Test
+    public void minifyJsDropsWholeLineCommentsAndIndentation() {
+        String js = "// header\nfunction show(id) {\n\t// find the element\n\tvar e = document.getElementById(id);\n\n\treturn e;\n}\n";
+        
+        assertEquals("function show(id) {\nvar e = document.getElementById(id);\nreturn e;\n}\n", Minifier.minifyJs(js));
+    }
+    
+    @Test
+    public void minifyJsKeepsSlashesInsideStrings() {
+        String js = "var url = 'https://zgorlock.github.io/Specimens/';\n" +
+                "var pattern = /\\/\\/+/g;\n" +
+                "\tvar comment = \"// not a comment\"; // trailing comment\n" +
+                "/* block\n   // inside a block comment\n*/\n";
+        
+        String minified = Minifier.minifyJs(js);
+        assertTrue(minified.contains("var url = 'https://zgorlock.github.io/Specimens/';\n"));
+        assertTrue(minified.contains("var pattern = /\\/\\/+/g;\n"));
+        assertTrue(minified.contains("var comment = \"// not a comment\"; // trailing comment\n"));
+        assertFalse(minified.contains("inside a block comment"));
+        assertTrue(minified.endsWith("/* block\n*/\n"));
+    }
+    
+    @Test
+    public void minifyJsLeavesMultiLineStringsUntouched() {
+        String template = "var html = `\n\t// kept\n\t<p>x</p>\n`;\n";
+        String continuation = "var text = 'a \\\n\t// kept';\n";
+        
+        assertEquals(template, Minifier.minifyJs(template));
+        assertEquals(continuation, Minifier.minifyJs(continuation));
+    }
+    
+    @Test
+    public void minifyOnlyTouchesMinifiedTypes() {
+        byte[] json = "{ \"a\" :  1 }".getBytes(StandardCharsets.UTF_8);
+        
+        assertTrue(Minifier.isMinified("index.HTML"));
+        assertFalse(Minifier.isMinified("data.json"));
+        assertArrayEquals(json, Minifier.minify("data.json", json));
+        assertArrayEquals("p{color:red}".getBytes(StandardCharsets.UTF_8), Minifier.minify("main.css", "p {\n\tcolor: red;\n}\n".getBytes(StandardCharsets.UTF_8)));
+    }
+    
+}
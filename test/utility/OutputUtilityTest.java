@@ -0,0 +1,120 @@
+/*
+ * File:    OutputUtilityTest.java
+ * Package: utility
+ * Author:  Zachary Gill
+ */
+
+package utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OutputUtilityTest {
+    
+    //Constants
+    
+    private static final FileTime oldTime = FileTime.fromMillis(1000000000000L);
+    
+    
+    //Tests
+    
+    @Test
+    public void writeIfChangedSkipsUnchangedContent(@TempDir File sink) throws Exception {
+        File page = new File(sink, "specimens/00/0001/main.html");
+        write(page, "<p>old</p>");
+        Files.setLastModifiedTime(page.toPath(), oldTime);
+        
+        OutputUtility output = new OutputUtility();
+        output.setWriteIfChanged(true);
+        output.writeBytes(page, "<p>old</p>".getBytes(StandardCharsets.UTF_8));
+        assertEquals(oldTime, Files.getLastModifiedTime(page.toPath()));
+        assertEquals(0, output.getFilesWritten());
+        
+        output.writeBytes(page, "<p>new</p>".getBytes(StandardCharsets.UTF_8));
+        assertEquals("<p>new</p>", Files.readString(page.toPath()));
+        assertNotEquals(oldTime, Files.getLastModifiedTime(page.toPath()));
+        assertEquals(1, output.getFilesWritten());
+    }
+    
+    @Test
+    public void writeIfChangedSkipsUnchangedCopies(@TempDir File root) throws Exception {
+        File source = new File(root, "source/star.png");
+        File dest = new File(root, "sink/assets/star.png");
+        write(source, "star");
+        write(dest, "star");
+        Files.setLastModifiedTime(dest.toPath(), oldTime);
+        
+        OutputUtility output = new OutputUtility();
+        output.setWriteIfChanged(true);
+        output.copyFile(source, dest);
+        assertEquals(oldTime, Files.getLastModifiedTime(dest.toPath()));
+        
+        write(source, "moon");
+        output.copyFile(source, dest);
+        assertEquals("moon", Files.readString(dest.toPath()));
+    }
+    
+    @Test
+    public void writeAlwaysRewritesWithoutWriteIfChanged(@TempDir File sink) throws Exception {
+        File page = new File(sink, "index.html");
+        write(page, "<p>same</p>");
+        Files.setLastModifiedTime(page.toPath(), oldTime);
+        
+        OutputUtility output = new OutputUtility();
+        output.writeBytes(page, "<p>same</p>".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(oldTime, Files.getLastModifiedTime(page.toPath()));
+        assertEquals(1, output.getFilesWritten());
+    }
+    
+    @Test
+    public void sweepRemovesOnlyUnproducedFiles(@TempDir File sink) throws Exception {
+        File produced = new File(sink, "specimens/00/0001/main.html");
+        File unchanged = new File(sink, "specimens/00/0001/content.html");
+        File stale = new File(sink, "specimens/00/0002/main.html");
+        File retained = new File(sink, "specimens/00/0003/images/0/a.jpg");
+        File staleRoot = new File(sink, "search.html");
+        File producedRoot = new File(sink, "index.html");
+        File unmanaged = new File(sink, "CNAME");
+        for (File file : List.of(produced, unchanged, stale, retained, staleRoot, producedRoot, unmanaged)) {
+            write(file, file.getName());
+        }
+        
+        OutputUtility output = new OutputUtility();
+        output.setWriteIfChanged(true);
+        output.writeBytes(produced, "<p>new</p>".getBytes(StandardCharsets.UTF_8));
+        output.writeBytes(unchanged, unchanged.getName().getBytes(StandardCharsets.UTF_8));
+        output.writeBytes(producedRoot, producedRoot.getName().getBytes(StandardCharsets.UTF_8));
+        output.retain(new File(sink, "specimens/00/0003"));
+        output.sweep(sink, List.of("specimens", "index.html", "search.html"));
+        
+        assertTrue(produced.exists());
+        assertTrue(unchanged.exists());
+        assertTrue(retained.exists());
+        assertTrue(producedRoot.exists());
+        assertTrue(unmanaged.exists());
+        assertFalse(stale.exists());
+        assertFalse(stale.getParentFile().exists());
+        assertFalse(staleRoot.exists());
+    }
+    
+    
+    //Functions
+    
+    private static void write(File file, String content) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+    
+}